@@ -0,0 +1,47 @@
+package com.brokerage.admission;
+
+/**
+ * A concurrency limit steered by observed latency. While the smoothed latency stays under the target
+ * and the limit is actually being used, it grows by a fraction of its square root per sample; once
+ * latency exceeds the target it shrinks in proportion to the overshoot. Not thread-safe; the caller
+ * serializes access.
+ */
+final class AdaptiveConcurrencyLimit {
+    
+    private static final double LATENCY_SMOOTHING = 0.1;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double MIN_GRADIENT = 0.5;
+    
+    private final long targetNanos;
+    private final int minLimit;
+    private final int maxLimit;
+    private double limit;
+    private double smoothedNanos;
+    
+    AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long targetNanos) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.targetNanos = targetNanos;
+    }
+    
+    void onSample(long latencyNanos, int inFlight) {
+        smoothedNanos = smoothedNanos == 0 ? latencyNanos
+                : smoothedNanos + (latencyNanos - smoothedNanos) * LATENCY_SMOOTHING;
+        
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, targetNanos / smoothedNanos));
+        double next = limit * gradient;
+        if (gradient == 1.0 && inFlight * 2 >= limit) {
+            next += Math.sqrt(limit);
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - LIMIT_SMOOTHING) + next * LIMIT_SMOOTHING));
+    }
+    
+    int limit() {
+        return (int) limit;
+    }
+    
+    long smoothedLatencyNanos() {
+        return (long) smoothedNanos;
+    }
+}
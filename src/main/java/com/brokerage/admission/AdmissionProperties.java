@@ -0,0 +1,22 @@
+package com.brokerage.admission;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order.admission")
+@Getter
+@Setter
+public class AdmissionProperties {
+    
+    private boolean enabled = false;
+    private int initialLimit = 10;
+    private int minLimit = 2;
+    private int maxLimit = 100;
+    private long latencyTargetMs = 250;
+    private int createQueueCapacity = 100;
+    private int cancelQueueCapacity = 1000;
+    private long cancelMaxWaitMs = 5000;
+}
@@ -0,0 +1,189 @@
+package com.brokerage.admission;
+
+import com.brokerage.enums.AdmissionPriority;
+import com.brokerage.exception.BrokerageException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Admits order commands up to an {@link AdaptiveConcurrencyLimit} and queues the rest, handing freed
+ * slots to waiting cancels before waiting creates, since a cancel releases blocked balance. A queued
+ * create gives up with 503 once it has waited {@code order.admission.latency-target-ms}, and from then
+ * until a create is admitted again, creates that cannot start straight away are rejected without
+ * queueing. Cancels are never shed for latency and wait up to {@code cancel-max-wait-ms}.
+ */
+@Component
+@Slf4j
+public class OrderAdmissionController {
+    
+    private final AdmissionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimit limit;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<AdmissionPriority, ArrayDeque<Waiter>> queues = new EnumMap<>(AdmissionPriority.class);
+    private int inFlight;
+    private boolean sheddingCreates;
+    
+    public OrderAdmissionController(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limit = new AdaptiveConcurrencyLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), TimeUnit.MILLISECONDS.toNanos(properties.getLatencyTargetMs()));
+        
+        Gauge.builder("order.admission.limit", this, controller -> controller.limit.limit())
+                .description("Order commands allowed to run at once")
+                .register(meterRegistry);
+        Gauge.builder("order.admission.inflight", this, controller -> controller.inFlight)
+                .description("Order commands running")
+                .register(meterRegistry);
+        Gauge.builder("order.admission.latency", this,
+                        controller -> controller.limit.smoothedLatencyNanos() / 1_000_000.0)
+                .description("Smoothed order command latency in milliseconds")
+                .register(meterRegistry);
+        for (AdmissionPriority priority : AdmissionPriority.values()) {
+            ArrayDeque<Waiter> queue = new ArrayDeque<>();
+            queues.put(priority, queue);
+            Gauge.builder("order.admission.queued", queue, ArrayDeque::size)
+                    .description("Order commands waiting to be admitted")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+    }
+    
+    public <T> T admit(AdmissionPriority priority, Supplier<T> command) {
+        if (!properties.isEnabled()) {
+            return command.get();
+        }
+        
+        acquire(priority);
+        long start = System.nanoTime();
+        try {
+            return command.get();
+        } finally {
+            release(System.nanoTime() - start);
+        }
+    }
+    
+    public void admit(AdmissionPriority priority, Runnable command) {
+        admit(priority, () -> {
+            command.run();
+            return null;
+        });
+    }
+    
+    private void acquire(AdmissionPriority priority) {
+        Waiter waiter = new Waiter();
+        long maxWaitMs;
+        lock.lock();
+        try {
+            if (inFlight < limit.limit() && !hasWaitersAtOrAbove(priority)) {
+                inFlight++;
+                if (priority == AdmissionPriority.CREATE) {
+                    sheddingCreates = false;
+                }
+                return;
+            }
+            if (priority == AdmissionPriority.CREATE && sheddingCreates) {
+                throw reject(priority, "overloaded");
+            }
+            ArrayDeque<Waiter> queue = queues.get(priority);
+            if (queue.size() >= queueCapacity(priority)) {
+                throw reject(priority, "queue_full");
+            }
+            queue.addLast(waiter);
+            maxWaitMs = priority == AdmissionPriority.CANCEL ? properties.getCancelMaxWaitMs()
+                    : properties.getLatencyTargetMs();
+        } finally {
+            lock.unlock();
+        }
+        
+        boolean granted;
+        try {
+            granted = waiter.granted.await(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            granted = false;
+        }
+        if (!granted) {
+            abandon(priority, waiter);
+        }
+    }
+    
+    private void abandon(AdmissionPriority priority, Waiter waiter) {
+        lock.lock();
+        try {
+            if (!queues.get(priority).remove(waiter)) {
+                // Granted between the timeout and taking the lock, so the slot is ours after all
+                return;
+            }
+            if (priority == AdmissionPriority.CREATE) {
+                sheddingCreates = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        throw reject(priority, "timeout");
+    }
+    
+    private void release(long latencyNanos) {
+        lock.lock();
+        try {
+            limit.onSample(latencyNanos, inFlight);
+            inFlight--;
+            while (inFlight < limit.limit()) {
+                Waiter next = queues.get(AdmissionPriority.CANCEL).pollFirst();
+                if (next == null) {
+                    next = queues.get(AdmissionPriority.CREATE).pollFirst();
+                    if (next == null) {
+                        break;
+                    }
+                    sheddingCreates = false;
+                }
+                inFlight++;
+                next.granted.countDown();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private boolean hasWaitersAtOrAbove(AdmissionPriority priority) {
+        for (AdmissionPriority other : AdmissionPriority.values()) {
+            if (!queues.get(other).isEmpty()) {
+                return true;
+            }
+            if (other == priority) {
+                return false;
+            }
+        }
+        return false;
+    }
+    
+    private int queueCapacity(AdmissionPriority priority) {
+        return priority == AdmissionPriority.CANCEL ? properties.getCancelQueueCapacity()
+                : properties.getCreateQueueCapacity();
+    }
+    
+    private BrokerageException reject(AdmissionPriority priority, String reason) {
+        log.debug("Rejected {} order command: {}", priority, reason);
+        meterRegistry.counter("order.admission.rejected",
+                "priority", priority.name().toLowerCase(), "reason", reason).increment();
+        return new BrokerageException("Order service is overloaded, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+    
+    private static final class Waiter {
+        
+        private final CountDownLatch granted = new CountDownLatch(1);
+    }
+}
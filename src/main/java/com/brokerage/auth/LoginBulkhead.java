@@ -0,0 +1,84 @@
+package com.brokerage.auth;
+
+import com.brokerage.exception.BrokerageException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs logins and registrations, which spend most of their time in BCrypt, on a small pool of their
+ * own. A login storm then queues here instead of occupying the request threads that serve orders,
+ * and anything beyond the queue is turned away with 429 straight away. Work that waited longer than
+ * {@code auth.bulkhead.max-wait-ms} is dropped without hashing, since its client has likely given up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LoginBulkhead {
+    
+    private final LoginBulkheadProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private ThreadPoolExecutor workers;
+    
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "login-bulkhead-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        Gauge.builder("auth.bulkhead.queue", workers, executor -> executor.getQueue().size())
+                .description("Logins and registrations waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("auth.bulkhead.active", workers, ThreadPoolExecutor::getActiveCount)
+                .description("Logins and registrations being processed")
+                .register(meterRegistry);
+        log.info("Login bulkhead started with {} workers", properties.getWorkers());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(30, TimeUnit.SECONDS);
+    }
+    
+    /**
+     * Queues {@code task} on the bulkhead, throwing a 429 {@link BrokerageException} on the calling
+     * thread when the queue is full, or completing with one when the task waited too long to start.
+     */
+    public <T> CompletableFuture<T> submit(String operation, Supplier<T> task) {
+        Timer.Sample queued = Timer.start(meterRegistry);
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                long waitedNanos = queued.stop(meterRegistry.timer("auth.bulkhead.wait", "operation", operation));
+                if (waitedNanos > TimeUnit.MILLISECONDS.toNanos(properties.getMaxWaitMs())) {
+                    throw reject(operation, "expired");
+                }
+                return task.get();
+            }, workers);
+        } catch (RejectedExecutionException ex) {
+            throw reject(operation, "full");
+        }
+    }
+    
+    private BrokerageException reject(String operation, String reason) {
+        meterRegistry.counter("auth.bulkhead.rejected", "operation", operation, "reason", reason).increment();
+        return new BrokerageException("Too many login requests, please retry later", HttpStatus.TOO_MANY_REQUESTS);
+    }
+}
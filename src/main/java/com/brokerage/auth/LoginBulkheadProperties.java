@@ -0,0 +1,17 @@
+package com.brokerage.auth;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "auth.bulkhead")
+@Getter
+@Setter
+public class LoginBulkheadProperties {
+    
+    private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    private int queueCapacity = 64;
+    private long maxWaitMs = 5000;
+}
@@ -0,0 +1,18 @@
+package com.brokerage.balance;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "asset.balance-cache")
+@Getter
+@Setter
+public class BalanceCacheProperties {
+    
+    private boolean enabled = false;
+    private int stripes = 64;
+    private long flushIntervalMs = 200;
+    private int flushBatchSize = 500;
+}
@@ -0,0 +1,4 @@
+package com.brokerage.balance;
+
+public record BalanceKey(Long customerId, String assetName) {
+}
@@ -0,0 +1,327 @@
+package com.brokerage.balance;
+
+import com.brokerage.dto.response.AssetResponse;
+import com.brokerage.entity.BalanceJournalEntry;
+import com.brokerage.money.Money;
+import com.brokerage.repository.BalanceJournalRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Authoritative in-memory balances keyed by (customer, asset). Debits are applied immediately and
+ * undone if the calling transaction rolls back; credits only become visible once it commits, so no
+ * one can spend uncommitted funds and a balance never goes negative through a rollback.
+ * <p>
+ * Every change is also appended to {@code balance_journal} inside the calling transaction, so it is
+ * durable exactly when the rest of that transaction is. The journal is folded into the assets table
+ * in periodic batches, and any rows left by a crash are folded in before balances are loaded.
+ */
+@Component
+@ConditionalOnProperty(prefix = "asset.balance-cache", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceStore {
+    
+    private static final String FIND_ID_SQL = "SELECT id FROM assets WHERE customer_id = ? AND asset_name = ?";
+    private static final String FOLD_SQL = "MERGE INTO assets a " +
+            "USING (SELECT CAST(? AS BIGINT) AS customer_id, CAST(? AS VARCHAR(255)) AS asset_name) s " +
+            "ON a.customer_id = s.customer_id AND a.asset_name = s.asset_name " +
+            "WHEN MATCHED THEN UPDATE SET size = a.size + ?, usable_size = a.usable_size + ?, version = a.version + 1 " +
+            "WHEN NOT MATCHED THEN INSERT (customer_id, asset_name, size, usable_size, version) " +
+            "VALUES (s.customer_id, s.asset_name, ?, ?, 0)";
+    
+    private final BalanceCacheProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final BalanceJournalRepository journalRepository;
+    private final PlatformTransactionManager transactionManager;
+    
+    private final Map<BalanceKey, Balance> balances = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> assetNames = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    
+    private ReentrantLock[] stripes;
+    private ScheduledExecutorService flusher;
+    
+    @PostConstruct
+    void start() {
+        stripes = new ReentrantLock[Integer.highestOneBit(Math.max(1, properties.getStripes()))];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        
+        int replayed = flush();
+        if (replayed > 0) {
+            log.info("Replayed {} balance journal entries left from the last run", replayed);
+        }
+        jdbcTemplate.query("SELECT id, customer_id, asset_name, size, usable_size FROM assets", rs -> {
+            Balance balance = new Balance(Money.of(rs.getBigDecimal("size")), Money.of(rs.getBigDecimal("usable_size")));
+            balance.id = rs.getLong("id");
+            add(new BalanceKey(rs.getLong("customer_id"), rs.getString("asset_name")), balance);
+        });
+        log.info("Loaded {} balances into the balance cache", balances.size());
+        
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "balance-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+                properties.getFlushIntervalMs(), properties.getFlushIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        flusher.shutdown();
+        flush();
+    }
+    
+    public boolean contains(Long customerId, String assetName) {
+        return balances.containsKey(new BalanceKey(customerId, assetName));
+    }
+    
+    public OptionalLong getUsableSize(Long customerId, String assetName) {
+        BalanceKey key = new BalanceKey(customerId, assetName);
+        ReentrantLock lock = stripeOf(key);
+        lock.lock();
+        try {
+            Balance balance = balances.get(key);
+            return balance == null ? OptionalLong.empty() : OptionalLong.of(balance.usableSize);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Lists the customer's balances by asset name. Each balance is read under its own lock, so the
+     * list is consistent per asset, which is all the assets table ever offered readers. Balances
+     * created since the last flush have no id yet.
+     */
+    public List<AssetResponse> getBalances(Long customerId) {
+        Set<String> names = assetNames.get(customerId);
+        if (names == null) {
+            return List.of();
+        }
+        
+        List<AssetResponse> responses = new ArrayList<>(names.size());
+        for (String assetName : names) {
+            BalanceKey key = new BalanceKey(customerId, assetName);
+            ReentrantLock lock = stripeOf(key);
+            lock.lock();
+            try {
+                Balance balance = balances.get(key);
+                responses.add(new AssetResponse(balance.id, customerId, assetName, balance.size, balance.usableSize));
+            } finally {
+                lock.unlock();
+            }
+        }
+        return responses;
+    }
+    
+    /**
+     * Applies the negative parts of the deltas now and the positive parts when the current
+     * transaction commits, and journals the whole change in that transaction. With
+     * {@code requireSufficient} the debit is refused, and nothing changes, if it would take the
+     * balance below zero.
+     */
+    public boolean apply(Long customerId, String assetName, long sizeDelta, long usableSizeDelta,
+                         boolean requireSufficient) {
+        BalanceKey key = new BalanceKey(customerId, assetName);
+        long sizeDebit = Math.min(sizeDelta, 0);
+        long usableSizeDebit = Math.min(usableSizeDelta, 0);
+        long sizeCredit = Math.max(sizeDelta, 0);
+        long usableSizeCredit = Math.max(usableSizeDelta, 0);
+        
+        if ((sizeDebit != 0 || usableSizeDebit != 0)
+                && !change(key, sizeDebit, usableSizeDebit, requireSufficient)) {
+            return false;
+        }
+        
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            try {
+                append(key, sizeDelta, usableSizeDelta);
+            } catch (RuntimeException e) {
+                change(key, -sizeDebit, -usableSizeDebit, false);
+                throw e;
+            }
+            change(key, sizeCredit, usableSizeCredit, false);
+            return true;
+        }
+        
+        // Registered before the journal write, so a failed write still undoes the debit on rollback
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    change(key, sizeCredit, usableSizeCredit, false);
+                } else {
+                    change(key, -sizeDebit, -usableSizeDebit, false);
+                }
+            }
+        });
+        append(key, sizeDelta, usableSizeDelta);
+        return true;
+    }
+    
+    /**
+     * Folds every committed journal entry into the assets table and returns how many were folded.
+     * Entries of transactions still in flight are not visible yet and are picked up by a later run.
+     */
+    public int flush() {
+        flushLock.lock();
+        try {
+            int folded = 0;
+            int batch;
+            do {
+                batch = new TransactionTemplate(transactionManager).execute(status -> foldBatch());
+                folded += batch;
+            } while (batch == properties.getFlushBatchSize());
+            return folded;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+    
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.error("Balance flush failed, will retry", e);
+        }
+    }
+    
+    private void append(BalanceKey key, long sizeDelta, long usableSizeDelta) {
+        journalRepository.save(BalanceJournalEntry.builder()
+                .customerId(key.customerId())
+                .assetName(key.assetName())
+                .sizeDelta(sizeDelta)
+                .usableSizeDelta(usableSizeDelta)
+                .build());
+    }
+    
+    // The folded entries are deleted in the same transaction that adds them to the assets table,
+    // so each entry reaches the table exactly once even if the process dies mid-flush.
+    private int foldBatch() {
+        List<Long> ids = new ArrayList<>();
+        Map<BalanceKey, long[]> deltas = new TreeMap<>(
+                Comparator.comparing(BalanceKey::customerId).thenComparing(BalanceKey::assetName));
+        for (BalanceJournalEntry entry : journalRepository.findAllByOrderById(Limit.of(properties.getFlushBatchSize()))) {
+            ids.add(entry.getId());
+            long[] delta = deltas.computeIfAbsent(
+                    new BalanceKey(entry.getCustomerId(), entry.getAssetName()), key -> new long[2]);
+            delta[0] = Money.add(delta[0], entry.getSizeDelta());
+            delta[1] = Money.add(delta[1], entry.getUsableSizeDelta());
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((key, delta) -> rows.add(new Object[]{key.customerId(), key.assetName(),
+                Money.toBigDecimal(delta[0]), Money.toBigDecimal(delta[1]),
+                Money.toBigDecimal(delta[0]), Money.toBigDecimal(delta[1])}));
+        jdbcTemplate.batchUpdate(FOLD_SQL, rows);
+        recordCreatedIds(deltas.keySet());
+        journalRepository.deleteByIdIn(ids);
+        log.debug("Folded {} journal entries into {} balances", ids.size(), rows.size());
+        return ids.size();
+    }
+    
+    // Rows inserted by the fold get their ids attached once it commits, so listings show them
+    private void recordCreatedIds(Collection<BalanceKey> keys) {
+        Map<Balance, Long> ids = new HashMap<>();
+        for (BalanceKey key : keys) {
+            Balance balance = balances.get(key);
+            if (balance != null && balance.id == null) {
+                ids.put(balance, jdbcTemplate.queryForObject(FIND_ID_SQL, Long.class, key.customerId(), key.assetName()));
+            }
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                ids.forEach((balance, id) -> balance.id = id);
+            }
+        });
+    }
+    
+    private boolean change(BalanceKey key, long sizeDelta, long usableSizeDelta, boolean requireSufficient) {
+        if (sizeDelta == 0 && usableSizeDelta == 0) {
+            return true;
+        }
+        
+        ReentrantLock lock = stripeOf(key);
+        lock.lock();
+        try {
+            Balance balance = balances.get(key);
+            if (balance == null) {
+                if (requireSufficient) {
+                    return false;
+                }
+                balance = new Balance(0, 0);
+                add(key, balance);
+            }
+            
+            long size = Money.add(balance.size, sizeDelta);
+            long usableSize = Money.add(balance.usableSize, usableSizeDelta);
+            if (requireSufficient && (size < 0 || usableSize < 0)) {
+                return false;
+            }
+            
+            balance.size = size;
+            balance.usableSize = usableSize;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private void add(BalanceKey key, Balance balance) {
+        balances.put(key, balance);
+        assetNames.computeIfAbsent(key.customerId(), customerId -> new ConcurrentSkipListSet<>()).add(key.assetName());
+    }
+    
+    private ReentrantLock stripeOf(BalanceKey key) {
+        return stripes[key.hashCode() & (stripes.length - 1)];
+    }
+    
+    private static final class Balance {
+        
+        private volatile Long id;
+        private long size;
+        private long usableSize;
+        
+        private Balance(long size, long usableSize) {
+            this.size = size;
+            this.usableSize = usableSize;
+        }
+    }
+}
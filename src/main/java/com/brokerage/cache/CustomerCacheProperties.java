@@ -0,0 +1,17 @@
+package com.brokerage.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "customer.cache")
+@Getter
+@Setter
+public class CustomerCacheProperties {
+    
+    private boolean enabled = true;
+    private long maximumSize = 10_000;
+    private long timeToLiveMs = 600_000;
+}
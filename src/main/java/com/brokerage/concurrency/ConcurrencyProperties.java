@@ -0,0 +1,19 @@
+package com.brokerage.concurrency;
+
+import com.brokerage.enums.ConcurrencyMode;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order.concurrency")
+@Getter
+@Setter
+public class ConcurrencyProperties {
+    
+    private ConcurrencyMode mode = ConcurrencyMode.PESSIMISTIC;
+    private int maxAttempts = 5;
+    private long initialBackoffMs = 5;
+    private long maxBackoffMs = 200;
+}
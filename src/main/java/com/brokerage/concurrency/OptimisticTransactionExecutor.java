@@ -0,0 +1,78 @@
+package com.brokerage.concurrency;
+
+import com.brokerage.exception.BrokerageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Runs a command in a READ_COMMITTED transaction and retries it with jittered exponential backoff
+ * when it fails on a version conflict, lock timeout or serialization failure.
+ */
+@Component
+@Slf4j
+public class OptimisticTransactionExecutor {
+    
+    private final ConcurrencyProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    
+    public OptimisticTransactionExecutor(ConcurrencyProperties properties,
+                                         PlatformTransactionManager transactionManager,
+                                         MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+    
+    public <T> T execute(String operation, Supplier<T> command) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // A retry cannot restart a transaction owned by the caller
+            return command.get();
+        }
+        
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> command.get());
+            } catch (ConcurrencyFailureException ex) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    meterRegistry.counter("orders.retry.exhausted", "operation", operation).increment();
+                    log.warn("{} failed after {} attempts: {}", operation, attempt, ex.getMessage());
+                    throw new BrokerageException("Order was modified concurrently, please retry", ex, HttpStatus.CONFLICT);
+                }
+                
+                meterRegistry.counter("orders.retry.attempts", "operation", operation).increment();
+                log.debug("{} hit a concurrency conflict on attempt {}, retrying", operation, attempt);
+                backoff(attempt);
+            }
+        }
+    }
+    
+    public void execute(String operation, Runnable command) {
+        execute(operation, () -> {
+            command.run();
+            return null;
+        });
+    }
+    
+    private void backoff(int attempt) {
+        long ceiling = Math.min(properties.getMaxBackoffMs(), properties.getInitialBackoffMs() << Math.min(attempt - 1, 20));
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BrokerageException("Interrupted while retrying order command", ex, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.brokerage.config;
+
+import com.brokerage.cache.CustomerCacheProperties;
+import com.brokerage.entity.Customer;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Second-level cache for {@link Customer}, its roles and its username natural id. Each region is a
+ * size-bounded Caffeine cache with a time to live; any other cached region fails startup instead of
+ * silently growing without bound.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class CustomerCacheConfig {
+    
+    private final CustomerCacheProperties properties;
+    
+    @Bean
+    public HibernatePropertiesCustomizer customerCacheCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, properties.isEnabled());
+            if (properties.isEnabled()) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, createCacheManager());
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+    
+    // Own manager per application context; the provider's default one is shared across the JVM
+    private CacheManager createCacheManager() {
+        CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("brokerage-" + UUID.randomUUID()), provider.getDefaultClassLoader());
+        for (String region : new String[]{Customer.CACHE_REGION, Customer.ROLES_CACHE_REGION,
+                Customer.USERNAME_CACHE_REGION}) {
+            cacheManager.createCache(region, regionConfiguration());
+        }
+        return cacheManager;
+    }
+    
+    private CaffeineConfiguration<Object, Object> regionConfiguration() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setMaximumSize(OptionalLong.of(properties.getMaximumSize()));
+        configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(properties.getTimeToLiveMs())));
+        return configuration;
+    }
+}
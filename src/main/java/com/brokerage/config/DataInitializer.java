@@ -1,6 +1,7 @@
 package com.brokerage.config;
 
 import com.brokerage.entity.Customer;
+import com.brokerage.money.Money;
 import com.brokerage.repository.CustomerRepository;
 import com.brokerage.service.AssetServiceInterface;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +12,6 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
-import java.math.BigDecimal;
 import java.util.Set;
 
 @Configuration
@@ -52,7 +52,7 @@ public class DataInitializer {
                         .build();
                 
                 Customer savedUser = customerRepository.save(testUser);
-                assetService.depositToAsset(savedUser, "TRY", new BigDecimal("10000"));
+                assetService.depositToAsset(savedUser.getId(), "TRY", Money.of("10000"));
                 log.info("Test user created with username: testuser and password: test123 with 10000 TRY");
             }
         };
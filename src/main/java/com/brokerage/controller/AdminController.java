@@ -1,17 +1,38 @@
 package com.brokerage.controller;
 
+import com.brokerage.admission.OrderAdmissionController;
+import com.brokerage.dto.request.BatchMatchOrderRequest;
 import com.brokerage.dto.request.CreateOrderForCustomerRequest;
+import com.brokerage.dto.request.ListOrdersRequest;
 import com.brokerage.dto.request.MatchOrderRequest;
+import com.brokerage.dto.request.UpdateCustomerRolesRequest;
 import com.brokerage.dto.response.ApiResponse;
+import com.brokerage.dto.response.BatchMatchResponse;
+import com.brokerage.dto.response.CustomerResponse;
+import com.brokerage.dto.response.OrderPage;
 import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.enums.AdmissionPriority;
+import com.brokerage.enums.ExportFormat;
+import com.brokerage.exception.BrokerageException;
+import com.brokerage.service.CustomerServiceInterface;
+import com.brokerage.service.OrderExportServiceInterface;
 import com.brokerage.service.OrderServiceInterface;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -20,6 +41,9 @@ import java.util.List;
 public class AdminController {
     
     private final OrderServiceInterface orderService;
+    private final OrderAdmissionController admissionController;
+    private final OrderExportServiceInterface orderExportService;
+    private final CustomerServiceInterface customerService;
     
     @PostMapping("/orders/match")
     public ResponseEntity<ApiResponse<Void>> matchOrder(
@@ -29,11 +53,20 @@ public class AdminController {
         return ResponseEntity.ok(ApiResponse.success("Order matched successfully", null));
     }
     
+    @PostMapping("/orders/match/batch")
+    public ResponseEntity<ApiResponse<BatchMatchResponse>> matchOrders(
+            @Valid @RequestBody BatchMatchOrderRequest request) {
+        
+        BatchMatchResponse result = orderService.matchOrders(request);
+        return ResponseEntity.ok(ApiResponse.success("Orders matched successfully", result));
+    }
+    
     @PostMapping("/orders")
     public ResponseEntity<ApiResponse<OrderResponse>> createOrderForCustomer(
             @Valid @RequestBody CreateOrderForCustomerRequest request) {
         
-        OrderResponse order = orderService.createOrderForCustomer(request);
+        OrderResponse order = admissionController.admit(AdmissionPriority.CREATE,
+                () -> orderService.createOrderForCustomer(request));
         return ResponseEntity.ok(ApiResponse.success("Order created successfully", order));
     }
     
@@ -41,14 +74,58 @@ public class AdminController {
     public ResponseEntity<ApiResponse<Void>> cancelOrder(
             @PathVariable Long orderId) {
         
-        orderService.cancelOrderAsAdmin(orderId);
+        admissionController.admit(AdmissionPriority.CANCEL, () -> orderService.cancelOrderAsAdmin(orderId));
         return ResponseEntity.ok(ApiResponse.success("Order canceled successfully", null));
     }
     
     @GetMapping("/orders")
-    public ResponseEntity<ApiResponse<List<OrderResponse>>> listAllOrders() {
+    public ResponseEntity<ApiResponse<List<OrderResponse>>> listOrders(ListOrdersRequest request) {
+        
+        OrderPage page = orderService.listOrders(request);
+        return ResponseEntity.ok(ApiResponse.page(page.getOrders(), page.getNextCursor()));
+    }
+    
+    @GetMapping("/orders/export")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        
+        ExportFormat exportFormat = parseExportFormat(format);
+        StreamingResponseBody body = out -> orderExportService.exportOrders(startDate, endDate, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(exportFormat == ExportFormat.CSV
+                        ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders." + exportFormat.name().toLowerCase(Locale.ROOT))
+                        .build()
+                        .toString())
+                .body(body);
+    }
+    
+    @PostMapping("/customers/{customerId}/deactivate")
+    public ResponseEntity<ApiResponse<CustomerResponse>> deactivateCustomer(
+            @PathVariable Long customerId) {
         
-        List<OrderResponse> orders = orderService.listAllOrders();
-        return ResponseEntity.ok(ApiResponse.success(orders));
+        CustomerResponse customer = customerService.deactivateCustomer(customerId);
+        return ResponseEntity.ok(ApiResponse.success("Customer deactivated successfully", customer));
+    }
+    
+    @PutMapping("/customers/{customerId}/roles")
+    public ResponseEntity<ApiResponse<CustomerResponse>> updateRoles(
+            @PathVariable Long customerId,
+            @Valid @RequestBody UpdateCustomerRolesRequest request) {
+        
+        CustomerResponse customer = customerService.updateRoles(customerId, request.getRoles());
+        return ResponseEntity.ok(ApiResponse.success("Customer roles updated successfully", customer));
+    }
+    
+    private ExportFormat parseExportFormat(String format) {
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new BrokerageException("Unsupported export format: " + format, HttpStatus.BAD_REQUEST);
+        }
     }
 }
\ No newline at end of file
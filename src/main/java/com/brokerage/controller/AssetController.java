@@ -2,12 +2,11 @@ package com.brokerage.controller;
 
 import com.brokerage.dto.response.ApiResponse;
 import com.brokerage.dto.response.AssetResponse;
-import com.brokerage.entity.Customer;
+import com.brokerage.security.CustomerPrincipal;
 import com.brokerage.service.AssetServiceInterface;
-import com.brokerage.service.CustomerServiceInterface;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -18,14 +17,12 @@ import java.util.List;
 public class AssetController {
     
     private final AssetServiceInterface assetService;
-    private final CustomerServiceInterface customerService;
     
     @GetMapping
     public ResponseEntity<ApiResponse<List<AssetResponse>>> listAssets(
-            Authentication authentication) {
+            @AuthenticationPrincipal CustomerPrincipal principal) {
         
-        Customer customer = customerService.getCustomerByUsername(authentication.getName());
-        List<AssetResponse> assets = assetService.getCustomerAssets(customer);
+        List<AssetResponse> assets = assetService.getCustomerAssets(principal.customerId());
         return ResponseEntity.ok(ApiResponse.success(assets));
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.brokerage.controller;
 
+import com.brokerage.auth.LoginBulkhead;
 import com.brokerage.dto.request.CustomerRegistrationRequest;
 import com.brokerage.dto.request.LoginRequest;
 import com.brokerage.dto.response.ApiResponse;
@@ -13,6 +14,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -20,21 +23,22 @@ public class AuthController {
     
     private final CustomerServiceInterface customerService;
     private final AuthService authService;
+    private final LoginBulkhead loginBulkhead;
     
     @PostMapping("/register")
-    public ResponseEntity<ApiResponse<CustomerResponse>> register(
+    public CompletableFuture<ResponseEntity<ApiResponse<CustomerResponse>>> register(
             @Valid @RequestBody CustomerRegistrationRequest request) {
         
-        CustomerResponse customer = customerService.registerCustomer(request);
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Customer registered successfully", customer));
+        return loginBulkhead.submit("register", () -> customerService.registerCustomer(request))
+                .thenApply(customer -> ResponseEntity.status(HttpStatus.CREATED)
+                        .body(ApiResponse.success("Customer registered successfully", customer)));
     }
     
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<JwtAuthResponse>> login(
+    public CompletableFuture<ResponseEntity<ApiResponse<JwtAuthResponse>>> login(
             @Valid @RequestBody LoginRequest request) {
         
-        JwtAuthResponse authResponse = authService.authenticateUser(request);
-        return ResponseEntity.ok(ApiResponse.success("Login successful", authResponse));
+        return loginBulkhead.submit("login", () -> authService.authenticateUser(request))
+                .thenApply(authResponse -> ResponseEntity.ok(ApiResponse.success("Login successful", authResponse)));
     }
 }
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.brokerage.controller;
 
+import com.brokerage.admission.OrderAdmissionController;
+import com.brokerage.dto.request.BatchCreateOrderRequest;
 import com.brokerage.dto.request.CreateOrderRequest;
 import com.brokerage.dto.request.ListOrdersRequest;
 import com.brokerage.dto.response.ApiResponse;
+import com.brokerage.dto.response.OrderPage;
 import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.enums.AdmissionPriority;
+import com.brokerage.idempotency.IdempotentOrderCache;
+import com.brokerage.security.CustomerPrincipal;
 import com.brokerage.service.OrderServiceInterface;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +17,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -22,35 +28,63 @@ import java.util.List;
 @RequiredArgsConstructor
 public class OrderController {
     
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    
     private final OrderServiceInterface orderService;
+    private final OrderAdmissionController admissionController;
+    private final IdempotentOrderCache idempotentOrders;
     
     @PostMapping
     public ResponseEntity<ApiResponse<OrderResponse>> createOrder(
             @Valid @RequestBody CreateOrderRequest request,
-            Authentication authentication) {
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @AuthenticationPrincipal CustomerPrincipal principal) {
         
-        OrderResponse order = orderService.createOrder(request, authentication.getName());
+        Long customerId = principal.customerId();
+        OrderResponse order = idempotencyKey == null
+                ? admissionController.admit(AdmissionPriority.CREATE, () -> orderService.createOrder(request, customerId))
+                : idempotentOrders.createOnce(request, customerId, idempotencyKey,
+                        () -> admissionController.admit(AdmissionPriority.CREATE,
+                                () -> orderService.createOrder(request, customerId, idempotencyKey)));
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Order created successfully", order));
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<ApiResponse<List<OrderResponse>>> createOrders(
+            @Valid @RequestBody BatchCreateOrderRequest request,
+            @AuthenticationPrincipal CustomerPrincipal principal) {
+        
+        List<OrderResponse> orders = admissionController.admit(AdmissionPriority.CREATE,
+                () -> orderService.createOrders(request, principal.customerId()));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Orders created successfully", orders));
+    }
+    
     @GetMapping
     public ResponseEntity<ApiResponse<List<OrderResponse>>> listOrders(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
-            Authentication authentication) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal CustomerPrincipal principal) {
         
-        List<OrderResponse> orders = orderService.getOrdersForCurrentUser(
-                authentication.getName(), startDate, endDate);
-        return ResponseEntity.ok(ApiResponse.success(orders));
+        OrderPage page = orderService.getCustomerOrders(
+                principal.customerId(), startDate, endDate, cursor, size);
+        return ResponseEntity.ok(ApiResponse.page(page.getOrders(), page.getNextCursor()));
     }
     
     @DeleteMapping("/{orderId}")
     public ResponseEntity<ApiResponse<Void>> cancelOrder(
             @PathVariable Long orderId,
-            Authentication authentication) {
+            @AuthenticationPrincipal CustomerPrincipal principal) {
         
-        orderService.cancelOrder(orderId, authentication.getName());
+        if (principal.isAdmin()) {
+            admissionController.admit(AdmissionPriority.CANCEL, () -> orderService.cancelOrderAsAdmin(orderId));
+        } else {
+            admissionController.admit(AdmissionPriority.CANCEL,
+                    () -> orderService.cancelOrder(orderId, principal.customerId()));
+        }
         return ResponseEntity.ok(ApiResponse.success("Order canceled successfully", null));
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.brokerage.controller;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.ApiResponse;
+import com.brokerage.dto.response.OrderTicketResponse;
+import com.brokerage.security.CustomerPrincipal;
+import com.brokerage.service.OrderTicketServiceInterface;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/orders/tickets")
+@ConditionalOnProperty(prefix = "order.async", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrderTicketController {
+    
+    private final OrderTicketServiceInterface orderTicketService;
+    
+    @PostMapping
+    public ResponseEntity<ApiResponse<OrderTicketResponse>> submitOrder(
+            @Valid @RequestBody CreateOrderRequest request,
+            @AuthenticationPrincipal CustomerPrincipal principal) {
+        
+        OrderTicketResponse ticket = orderTicketService.submitOrder(request, principal.customerId());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/orders/tickets/" + ticket.getTicketId()))
+                .body(ApiResponse.success("Order accepted", ticket));
+    }
+    
+    @GetMapping("/{ticketId}")
+    public ResponseEntity<ApiResponse<OrderTicketResponse>> getTicket(
+            @PathVariable String ticketId,
+            @AuthenticationPrincipal CustomerPrincipal principal) {
+        
+        return ResponseEntity.ok(ApiResponse.success(
+                orderTicketService.getTicket(ticketId, principal.customerId())));
+    }
+}
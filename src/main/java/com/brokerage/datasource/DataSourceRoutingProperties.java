@@ -0,0 +1,22 @@
+package com.brokerage.datasource;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+@Getter
+@Setter
+public class DataSourceRoutingProperties {
+    
+    private boolean enabled = false;
+    private String replicaUrl;
+    private String replicaUsername;
+    private String replicaPassword;
+    private int replicaPoolSize = 10;
+    private long maxStalenessMs = 1000;
+    private String lagQuery = "";
+    private long lagCheckIntervalMs = 500;
+}
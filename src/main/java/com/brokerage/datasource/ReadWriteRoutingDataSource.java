@@ -0,0 +1,35 @@
+package com.brokerage.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica while it is within the staleness tolerance and
+ * everything else to the primary. The route is decided when a connection is first requested, so it
+ * must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the
+ * JPA transaction manager asks for a connection before the read-only flag of the transaction is bound.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    
+    enum Route {
+        PRIMARY, REPLICA
+    }
+    
+    private final ReplicaLagMonitor lagMonitor;
+    
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaUsable()
+                ? Route.REPLICA : Route.PRIMARY;
+    }
+}
@@ -0,0 +1,102 @@
+package com.brokerage.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically measures how far the replica lags behind the primary with the configured lag query
+ * and takes it out of rotation while the lag exceeds the staleness tolerance or it cannot be reached.
+ * Without a lag query the replica only has to answer a validity check.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class ReplicaLagMonitor {
+    
+    private final DataSource replica;
+    private final DataSourceRoutingProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private volatile boolean replicaUsable = true;
+    private volatile long lagMs;
+    private ScheduledExecutorService checker;
+    
+    @PostConstruct
+    void start() {
+        check();
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMs)
+                .description("Last measured replica lag in milliseconds, -1 when unreachable")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        
+        checker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        checker.scheduleWithFixedDelay(this::check,
+                properties.getLagCheckIntervalMs(), properties.getLagCheckIntervalMs(), TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    void stop() {
+        if (checker != null) {
+            checker.shutdownNow();
+        }
+    }
+    
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+    
+    void check() {
+        boolean usable;
+        try (Connection connection = replica.getConnection()) {
+            lagMs = measureLag(connection);
+            usable = lagMs <= properties.getMaxStalenessMs();
+        } catch (SQLException | RuntimeException ex) {
+            log.debug("Replica lag check failed", ex);
+            lagMs = -1;
+            usable = false;
+        }
+        
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica back in rotation, lag {} ms", lagMs);
+            } else {
+                log.warn("Routing reads to the primary, replica lag {} ms exceeds {} ms or replica unreachable",
+                        lagMs, properties.getMaxStalenessMs());
+            }
+        }
+        replicaUsable = usable;
+    }
+    
+    private long measureLag(Connection connection) throws SQLException {
+        String lagQuery = properties.getLagQuery();
+        if (lagQuery == null || lagQuery.isBlank()) {
+            if (!connection.isValid(1)) {
+                throw new SQLException("Replica connection is not valid");
+            }
+            return 0;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            if (!resultSet.next()) {
+                throw new SQLException("Lag query returned no rows");
+            }
+            return resultSet.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.brokerage.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchCreateOrderRequest {
+    
+    @NotEmpty(message = "At least one order is required")
+    @Size(max = 500, message = "At most 500 orders can be placed in one batch")
+    private List<@Valid CreateOrderRequest> orders;
+}
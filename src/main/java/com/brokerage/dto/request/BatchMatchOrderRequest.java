@@ -0,0 +1,18 @@
+package com.brokerage.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchMatchOrderRequest {
+    
+    @Size(max = 100000, message = "At most 100000 orders can be matched in one batch")
+    private List<Long> orderIds;
+    
+    private String assetName;
+}
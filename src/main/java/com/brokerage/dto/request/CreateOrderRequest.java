@@ -1,10 +1,12 @@
 package com.brokerage.dto.request;
 
 import com.brokerage.enums.OrderSide;
+import com.brokerage.enums.TimeInForce;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data
 @NoArgsConstructor
@@ -20,9 +22,16 @@ public class CreateOrderRequest {
     
     @NotNull(message = "Size is required")
     @DecimalMin(value = "0.0001", message = "Size must be greater than 0")
+    @Digits(integer = 14, fraction = 4, message = "Size supports at most 4 decimal places")
     private BigDecimal size;
     
     @NotNull(message = "Price is required")
     @DecimalMin(value = "0.0001", message = "Price must be greater than 0")
+    @Digits(integer = 14, fraction = 4, message = "Price supports at most 4 decimal places")
     private BigDecimal price;
+    
+    private TimeInForce timeInForce;
+    
+    @Future(message = "Expiry must be in the future")
+    private LocalDateTime expireAt;
 }
\ No newline at end of file
@@ -27,5 +27,6 @@ public class CustomerRegistrationRequest {
     private String fullName;
     
     @DecimalMin(value = "0", message = "Initial deposit cannot be negative")
+    @Digits(integer = 14, fraction = 4, message = "Initial deposit supports at most 4 decimal places")
     private BigDecimal initialDeposit;
 }
\ No newline at end of file
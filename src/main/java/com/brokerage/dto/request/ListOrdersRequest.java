@@ -23,4 +23,9 @@ public class ListOrdersRequest {
     private OrderStatus status;
     
     private String assetName;
+    
+    private String cursor;
+    
+    @Builder.Default
+    private int size = 50;
 }
\ No newline at end of file
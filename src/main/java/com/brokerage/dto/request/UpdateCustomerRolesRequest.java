@@ -0,0 +1,16 @@
+package com.brokerage.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UpdateCustomerRolesRequest {
+    
+    @NotEmpty(message = "At least one role is required")
+    private Set<String> roles;
+}
@@ -13,6 +13,7 @@ public class ApiResponse<T> {
     private boolean success;
     private String message;
     private T data;
+    private String nextCursor;
     @Builder.Default
     private LocalDateTime timestamp = LocalDateTime.now();
     
@@ -32,6 +33,15 @@ public class ApiResponse<T> {
                 .build();
     }
     
+    public static <T> ApiResponse<T> page(T data, String nextCursor) {
+        return ApiResponse.<T>builder()
+                .success(true)
+                .message("Operation successful")
+                .data(data)
+                .nextCursor(nextCursor)
+                .build();
+    }
+    
     public static <T> ApiResponse<T> error(String message) {
         return ApiResponse.<T>builder()
                 .success(false)
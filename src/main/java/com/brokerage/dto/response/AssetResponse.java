@@ -1,5 +1,6 @@
 package com.brokerage.dto.response;
 
+import com.brokerage.money.Money;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -15,4 +16,9 @@ public class AssetResponse {
     private String assetName;
     private BigDecimal size;
     private BigDecimal usableSize;
+    
+    // Target of the listing constructor expression, which selects the stored fixed-point amounts
+    public AssetResponse(Long id, Long customerId, String assetName, long size, long usableSize) {
+        this(id, customerId, assetName, Money.toBigDecimal(size), Money.toBigDecimal(usableSize));
+    }
 }
\ No newline at end of file
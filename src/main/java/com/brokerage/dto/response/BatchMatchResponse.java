@@ -0,0 +1,16 @@
+package com.brokerage.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BatchMatchResponse {
+    
+    private int matchedCount;
+    private List<Long> matchedOrderIds;
+    private List<Long> skippedOrderIds;
+}
@@ -0,0 +1,15 @@
+package com.brokerage.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPage {
+    
+    private List<OrderResponse> orders;
+    private String nextCursor;
+}
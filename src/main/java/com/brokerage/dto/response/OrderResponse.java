@@ -2,6 +2,8 @@ package com.brokerage.dto.response;
 
 import com.brokerage.enums.OrderSide;
 import com.brokerage.enums.OrderStatus;
+import com.brokerage.enums.TimeInForce;
+import com.brokerage.money.Money;
 import lombok.*;
 
 import java.math.BigDecimal;
@@ -19,6 +21,17 @@ public class OrderResponse {
     private OrderSide orderSide;
     private BigDecimal size;
     private BigDecimal price;
+    private BigDecimal filledSize;
     private OrderStatus status;
+    private TimeInForce timeInForce;
+    private LocalDateTime expireAt;
     private LocalDateTime createDate;
+    
+    // Target of the listing constructor expression, which selects the stored fixed-point amounts
+    public OrderResponse(Long id, Long customerId, String assetName, OrderSide orderSide, long size, long price,
+                         long filledSize, OrderStatus status, TimeInForce timeInForce, LocalDateTime expireAt,
+                         LocalDateTime createDate) {
+        this(id, customerId, assetName, orderSide, Money.toBigDecimal(size), Money.toBigDecimal(price),
+                Money.toBigDecimal(filledSize), status, timeInForce, expireAt, createDate);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.brokerage.dto.response;
+
+import com.brokerage.enums.TicketStatus;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderTicketResponse {
+    
+    private String ticketId;
+    private TicketStatus status;
+    private OrderResponse order;
+    private String message;
+    private LocalDateTime acceptedAt;
+    private LocalDateTime completedAt;
+}
@@ -1,10 +1,9 @@
 package com.brokerage.entity;
 
+import com.brokerage.money.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
-
 @Entity
 @Table(name = "assets", 
        uniqueConstraints = @UniqueConstraint(columnNames = {"customer_id", "asset_name"}))
@@ -28,12 +27,12 @@ public class Asset {
     private String assetName;
     
     @Column(nullable = false, precision = 19, scale = 4)
-    @Builder.Default
-    private BigDecimal size = BigDecimal.ZERO;
+    @Convert(converter = MoneyConverter.class)
+    private long size;
     
     @Column(name = "usable_size", nullable = false, precision = 19, scale = 4)
-    @Builder.Default
-    private BigDecimal usableSize = BigDecimal.ZERO;
+    @Convert(converter = MoneyConverter.class)
+    private long usableSize;
     
     @Version
     private Long version;
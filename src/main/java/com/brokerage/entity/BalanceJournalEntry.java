@@ -0,0 +1,37 @@
+package com.brokerage.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A balance change not yet folded into the assets table. The deltas are raw fixed-point amounts,
+ * since the fold adds them up before converting.
+ */
+@Entity
+@Table(name = "balance_journal")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+public class BalanceJournalEntry {
+    
+    // Sequence ids let Hibernate batch the entries of a transaction into one insert
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "balance_journal_seq")
+    @SequenceGenerator(name = "balance_journal_seq", sequenceName = "balance_journal_seq", allocationSize = 50)
+    private Long id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    @Column(name = "asset_name", nullable = false)
+    private String assetName;
+    
+    @Column(name = "size_delta", nullable = false)
+    private long sizeDelta;
+    
+    @Column(name = "usable_size_delta", nullable = false)
+    private long usableSizeDelta;
+}
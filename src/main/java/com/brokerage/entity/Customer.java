@@ -2,14 +2,22 @@ package com.brokerage.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "customers")
+@Table(name = "customers", indexes = {
+    @Index(name = "idx_tokens_valid_after", columnList = "tokens_valid_after")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Customer.CACHE_REGION)
+@NaturalIdCache(region = Customer.USERNAME_CACHE_REGION)
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,10 +26,15 @@ import java.util.Set;
 @EqualsAndHashCode(of = "id")
 public class Customer {
     
+    public static final String CACHE_REGION = "customers";
+    public static final String ROLES_CACHE_REGION = "customer-roles";
+    public static final String USERNAME_CACHE_REGION = "customer-usernames";
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String username;
     
@@ -37,6 +50,7 @@ public class Customer {
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(name = "customer_roles", joinColumns = @JoinColumn(name = "customer_id"))
     @Column(name = "role")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Customer.ROLES_CACHE_REGION)
     @Builder.Default
     private Set<String> roles = new HashSet<>();
     
@@ -44,6 +58,10 @@ public class Customer {
     @Builder.Default
     private boolean active = true;
     
+    // Tokens issued before this instant are rejected; moved forward on deactivation and role changes
+    @Column(name = "tokens_valid_after")
+    private LocalDateTime tokensValidAfter;
+    
     @CreationTimestamp
     private LocalDateTime createdAt;
     
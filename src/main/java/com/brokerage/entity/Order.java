@@ -2,18 +2,22 @@ package com.brokerage.entity;
 
 import com.brokerage.enums.OrderSide;
 import com.brokerage.enums.OrderStatus;
+import com.brokerage.enums.TimeInForce;
+import com.brokerage.money.MoneyConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "orders", indexes = {
-    @Index(name = "idx_customer_id", columnList = "customer_id"),
-    @Index(name = "idx_status", columnList = "status"),
-    @Index(name = "idx_create_date", columnList = "create_date")
+    @Index(name = "idx_customer_create_date", columnList = "customer_id, create_date desc, id desc"),
+    @Index(name = "idx_status_asset_create_date", columnList = "status, asset_name, create_date desc, id desc"),
+    @Index(name = "idx_create_date", columnList = "create_date desc, id desc"),
+    @Index(name = "idx_status_expire_at", columnList = "status, expire_at")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_customer_idempotency_key", columnNames = {"customer_id", "idempotency_key"})
 })
 @Getter
 @Setter
@@ -23,8 +27,12 @@ import java.time.LocalDateTime;
 @EqualsAndHashCode(of = "id")
 public class Order {
     
+    public static final int IDEMPOTENCY_KEY_LENGTH = 64;
+    
+    // Sequence ids let Hibernate batch the inserts of a basket
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -39,16 +47,33 @@ public class Order {
     private OrderSide orderSide;
     
     @Column(nullable = false, precision = 19, scale = 4)
-    private BigDecimal size;
+    @Convert(converter = MoneyConverter.class)
+    private long size;
     
     @Column(nullable = false, precision = 19, scale = 4)
-    private BigDecimal price;
+    @Convert(converter = MoneyConverter.class)
+    private long price;
+    
+    @Column(name = "filled_size", nullable = false, precision = 19, scale = 4)
+    @Convert(converter = MoneyConverter.class)
+    private long filledSize;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
     private OrderStatus status = OrderStatus.PENDING;
     
+    @Enumerated(EnumType.STRING)
+    @Column(name = "time_in_force", nullable = false)
+    @Builder.Default
+    private TimeInForce timeInForce = TimeInForce.GTC;
+    
+    @Column(name = "expire_at")
+    private LocalDateTime expireAt;
+    
+    @Column(name = "idempotency_key", length = Order.IDEMPOTENCY_KEY_LENGTH, updatable = false)
+    private String idempotencyKey;
+    
     @Column(name = "create_date", nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createDate;
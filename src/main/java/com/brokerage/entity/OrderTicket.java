@@ -0,0 +1,101 @@
+package com.brokerage.entity;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.enums.OrderSide;
+import com.brokerage.enums.TicketStatus;
+import com.brokerage.enums.TimeInForce;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An order accepted for asynchronous placement. The request is stored with the ticket so that a
+ * ticket still {@code ACCEPTED} after a restart can be placed then.
+ */
+@Entity
+@Table(name = "order_tickets", indexes = {
+    @Index(name = "idx_ticket_status_accepted_at", columnList = "status, accepted_at"),
+    @Index(name = "idx_ticket_status_completed_at", columnList = "status, completed_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode(of = "id")
+public class OrderTicket {
+    
+    @Id
+    @Column(length = 36)
+    private String id;
+    
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+    
+    @Column(name = "asset_name", nullable = false)
+    private String assetName;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "order_side", nullable = false)
+    private OrderSide orderSide;
+    
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal size;
+    
+    @Column(nullable = false, precision = 19, scale = 4)
+    private BigDecimal price;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "time_in_force")
+    private TimeInForce timeInForce;
+    
+    @Column(name = "expire_at")
+    private LocalDateTime expireAt;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TicketStatus status;
+    
+    @Column(name = "order_id")
+    private Long orderId;
+    
+    private String message;
+    
+    // Placements that failed for a temporary reason such as overload or a lock conflict
+    @Column(nullable = false)
+    private int attempts;
+    
+    @Column(name = "accepted_at", nullable = false)
+    private LocalDateTime acceptedAt;
+    
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+    
+    public static OrderTicket accepted(String id, Long customerId, CreateOrderRequest request) {
+        return OrderTicket.builder()
+                .id(id)
+                .customerId(customerId)
+                .assetName(request.getAssetName())
+                .orderSide(request.getSide())
+                .size(request.getSize())
+                .price(request.getPrice())
+                .timeInForce(request.getTimeInForce())
+                .expireAt(request.getExpireAt())
+                .status(TicketStatus.ACCEPTED)
+                .acceptedAt(LocalDateTime.now())
+                .build();
+    }
+    
+    public CreateOrderRequest toRequest() {
+        return CreateOrderRequest.builder()
+                .assetName(assetName)
+                .side(orderSide)
+                .size(size)
+                .price(price)
+                .timeInForce(timeInForce)
+                .expireAt(expireAt)
+                .build();
+    }
+}
@@ -0,0 +1,6 @@
+package com.brokerage.enums;
+
+public enum AdmissionPriority {
+    CANCEL,
+    CREATE
+}
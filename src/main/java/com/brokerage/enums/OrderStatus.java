@@ -1,5 +1,5 @@
 package com.brokerage.enums;
 
 public enum OrderStatus {
-    PENDING, MATCHED, CANCELED
-}
\ No newline at end of file
+    PENDING, MATCHED, CANCELED, EXPIRED
+}
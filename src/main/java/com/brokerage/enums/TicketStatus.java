@@ -0,0 +1,7 @@
+package com.brokerage.enums;
+
+public enum TicketStatus {
+    ACCEPTED,
+    COMPLETED,
+    REJECTED
+}
@@ -0,0 +1,7 @@
+package com.brokerage.enums;
+
+public enum TimeInForce {
+    GTC,
+    DAY,
+    GTD
+}
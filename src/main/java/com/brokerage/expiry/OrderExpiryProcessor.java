@@ -0,0 +1,82 @@
+package com.brokerage.expiry;
+
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.repository.projection.OrderExpiryView;
+import com.brokerage.service.OrderServiceInterface;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Advances the expiry wheel every tick and expires the orders that came due, in batches.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExpiryProcessor {
+    
+    private final OrderExpiryScheduler scheduler;
+    private final OrderExpiryProperties properties;
+    private final OrderServiceInterface orderService;
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+    
+    private Thread ticker;
+    private volatile boolean running = true;
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        List<OrderExpiryView> resting = orderRepository.findPendingExpiries();
+        resting.forEach(order -> scheduler.schedule(order.getId(), order.getExpireAt()));
+        
+        Gauge.builder("orders.expiry.scheduled", scheduler, OrderExpiryScheduler::size)
+                .description("Orders waiting on the expiry wheel")
+                .register(meterRegistry);
+        
+        ticker = new Thread(this::run, "order-expiry");
+        ticker.setDaemon(true);
+        ticker.start();
+        log.info("Order expiry started with {} resting orders scheduled", resting.size());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker.join(properties.getTickMs() * 10);
+        }
+    }
+    
+    private void run() {
+        while (running) {
+            try {
+                Thread.sleep(properties.getTickMs());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            
+            List<Long> due = scheduler.pollDue();
+            for (int from = 0; from < due.size(); from += properties.getBatchSize()) {
+                expire(due.subList(from, Math.min(from + properties.getBatchSize(), due.size())));
+            }
+        }
+    }
+    
+    private void expire(List<Long> orderIds) {
+        try {
+            orderService.expireOrders(orderIds);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to expire {} orders, retrying on the next tick", orderIds.size(), ex);
+            scheduler.retry(List.copyOf(orderIds));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.brokerage.expiry;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalTime;
+
+@Component
+@ConfigurationProperties(prefix = "order.expiry")
+@Getter
+@Setter
+public class OrderExpiryProperties {
+    
+    private long tickMs = 100;
+    private int wheelSize = 512;
+    private int batchSize = 500;
+    private LocalTime dayClose = LocalTime.of(18, 0);
+}
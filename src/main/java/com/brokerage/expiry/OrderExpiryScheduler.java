@@ -0,0 +1,85 @@
+package com.brokerage.expiry;
+
+import com.brokerage.enums.TimeInForce;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the expiry time of every resting order with a deadline on a {@link TimingWheel}. Orders
+ * that are filled or canceled first stay on the wheel and are skipped when they come due.
+ */
+@Component
+public class OrderExpiryScheduler {
+    
+    private final OrderExpiryProperties properties;
+    private final TimingWheel wheel;
+    
+    public OrderExpiryScheduler(OrderExpiryProperties properties) {
+        this.properties = properties;
+        this.wheel = new TimingWheel(properties.getTickMs(), properties.getWheelSize(), System.currentTimeMillis());
+    }
+    
+    public LocalDateTime resolveExpireAt(TimeInForce timeInForce, LocalDateTime expireAt) {
+        return switch (timeInForce) {
+            case GTC -> null;
+            case GTD -> expireAt;
+            case DAY -> {
+                LocalDateTime close = LocalDate.now().atTime(properties.getDayClose());
+                yield close.isAfter(LocalDateTime.now()) ? close : close.plusDays(1);
+            }
+        };
+    }
+    
+    /**
+     * Schedules the order once the current transaction commits, so it never comes due before it
+     * is visible.
+     */
+    public void schedule(Long orderId, LocalDateTime expireAt) {
+        long deadlineMs = expireAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            add(orderId, deadlineMs);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                add(orderId, deadlineMs);
+            }
+        });
+    }
+    
+    public void retry(List<Long> orderIds) {
+        long now = System.currentTimeMillis();
+        synchronized (wheel) {
+            orderIds.forEach(orderId -> wheel.add(orderId, now));
+        }
+    }
+    
+    public List<Long> pollDue() {
+        List<Long> due = new ArrayList<>();
+        synchronized (wheel) {
+            wheel.advance(System.currentTimeMillis(), due::add);
+        }
+        return due;
+    }
+    
+    public int size() {
+        synchronized (wheel) {
+            return wheel.size();
+        }
+    }
+    
+    private void add(Long orderId, long deadlineMs) {
+        synchronized (wheel) {
+            wheel.add(orderId, deadlineMs);
+        }
+    }
+}
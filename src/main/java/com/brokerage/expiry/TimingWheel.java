@@ -0,0 +1,114 @@
+package com.brokerage.expiry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Hierarchical timing wheel of ids. Level {@code n} has {@code wheelSize} buckets of
+ * {@code wheelSize^n} ticks each; a timer sits on the lowest level whose span still covers its
+ * deadline and cascades one level down each time the level below wraps. Adding a timer and firing
+ * it are constant time, independent of how many timers are scheduled. Not thread-safe.
+ */
+public class TimingWheel {
+    
+    private final long tickMs;
+    private final int bits;
+    private final int mask;
+    private final List<ArrayDeque<Timer>[]> levels = new ArrayList<>();
+    private final List<Long> overdue = new ArrayList<>();
+    private long currentTick;
+    private int size;
+    
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tickMs must be positive and wheelSize a power of two");
+        }
+        this.tickMs = tickMs;
+        this.bits = Integer.numberOfTrailingZeros(wheelSize);
+        this.mask = wheelSize - 1;
+        this.currentTick = startMs / tickMs;
+    }
+    
+    public void add(long id, long deadlineMs) {
+        size++;
+        // Rounded up so a timer never fires before its deadline
+        place(new Timer(id, -Math.floorDiv(-deadlineMs, tickMs)));
+    }
+    
+    /**
+     * Moves the wheel to {@code nowMs} and hands every timer that became due to {@code expired}.
+     */
+    public void advance(long nowMs, LongConsumer expired) {
+        drainOverdue(expired);
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade();
+            ArrayDeque<Timer> bucket = bucket(0, (int) (currentTick & mask));
+            while (!bucket.isEmpty()) {
+                size--;
+                expired.accept(bucket.poll().id);
+            }
+            drainOverdue(expired);
+        }
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    private void place(Timer timer) {
+        if (timer.deadlineTick <= currentTick) {
+            overdue.add(timer.id);
+            return;
+        }
+        int level = 0;
+        while (bits * (level + 1) < Long.SIZE
+                && timer.deadlineTick >>> (bits * (level + 1)) != currentTick >>> (bits * (level + 1))) {
+            level++;
+        }
+        bucket(level, (int) ((timer.deadlineTick >>> (bits * level)) & mask)).add(timer);
+    }
+    
+    // Redistributes the higher-level buckets that start at the current tick, highest level first,
+    // so timers falling through several levels land in buckets that are redistributed after them
+    private void cascade() {
+        int top = 0;
+        while (top + 1 < levels.size() && (currentTick & ((1L << (bits * (top + 1))) - 1)) == 0) {
+            top++;
+        }
+        for (int level = top; level >= 1; level--) {
+            ArrayDeque<Timer> bucket = bucket(level, (int) ((currentTick >>> (bits * level)) & mask));
+            List<Timer> timers = new ArrayList<>(bucket);
+            bucket.clear();
+            timers.forEach(this::place);
+        }
+    }
+    
+    private void drainOverdue(LongConsumer expired) {
+        if (overdue.isEmpty()) {
+            return;
+        }
+        List<Long> due = new ArrayList<>(overdue);
+        overdue.clear();
+        size -= due.size();
+        due.forEach(expired::accept);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ArrayDeque<Timer> bucket(int level, int index) {
+        while (levels.size() <= level) {
+            ArrayDeque<Timer>[] buckets = new ArrayDeque[mask + 1];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new ArrayDeque<>();
+            }
+            levels.add(buckets);
+        }
+        return levels.get(level)[index];
+    }
+    
+    private record Timer(long id, long deadlineTick) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.brokerage.groupcommit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order.group-commit")
+@Getter
+@Setter
+public class GroupCommitProperties {
+    
+    private boolean enabled = false;
+    private long windowMicros = 200;
+    private int maxGroupSize = 50;
+    private int queueCapacity = 10000;
+    private long timeoutMs = 5000;
+}
@@ -0,0 +1,158 @@
+package com.brokerage.groupcommit;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.exception.BrokerageException;
+import com.brokerage.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Collects order creations on a single committer thread and places each group in one transaction.
+ * A group closes when it reaches {@code max-group-size} or {@code window-micros} after its first
+ * order; creations that queue up while a group commits form the next one without waiting. If the
+ * group transaction fails, its orders are placed again one transaction each, so a failure only
+ * reaches the caller whose order caused it. An order whose caller stopped waiting before its group
+ * was taken up is dropped.
+ */
+@Component
+@ConditionalOnExpression("${order.group-commit.enabled:false} and !${order.sequencer.enabled:false}")
+@Slf4j
+public class OrderGroupCommitter {
+    
+    private final OrderServiceImpl orderService;
+    private final GroupCommitProperties properties;
+    private final BlockingQueue<PendingOrder> queue;
+    private final DistributionSummary groupSize;
+    private final MeterRegistry meterRegistry;
+    private final Thread committer;
+    private volatile boolean running = true;
+    
+    public OrderGroupCommitter(OrderServiceImpl orderService, GroupCommitProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.orderService = orderService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.groupSize = DistributionSummary.builder("orders.group-commit.size").register(meterRegistry);
+        this.committer = new Thread(this::drain, "order-group-commit");
+        this.committer.setDaemon(true);
+    }
+    
+    @PostConstruct
+    public void start() {
+        committer.start();
+        log.info("Order group commit started with a {} µs window and groups of up to {}",
+                properties.getWindowMicros(), properties.getMaxGroupSize());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        committer.join(properties.getTimeoutMs());
+    }
+    
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId, String idempotencyKey) {
+        PendingOrder pending = new PendingOrder(request, customerId, idempotencyKey);
+        if (!running || !queue.offer(pending)) {
+            throw new BrokerageException("Order queue is full, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        
+        try {
+            try {
+                return pending.getResult().get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                // Claimed here, the committer skips the order; otherwise its group is already being placed
+                if (pending.claim()) {
+                    throw new BrokerageException("Order timed out in the queue and was not placed, please retry",
+                            HttpStatus.SERVICE_UNAVAILABLE);
+                }
+                return pending.getResult().get();
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BrokerageException("Order command failed", ex.getCause(), HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BrokerageException("Interrupted while waiting for order command", ex, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    private void drain() {
+        List<PendingOrder> group = new ArrayList<>(properties.getMaxGroupSize());
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                collect(group);
+                commit(group);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                group.clear();
+            }
+        }
+    }
+    
+    private void collect(List<PendingOrder> group) throws InterruptedException {
+        int maxGroupSize = properties.getMaxGroupSize();
+        queue.drainTo(group, maxGroupSize - group.size());
+        long deadline = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(properties.getWindowMicros());
+        while (group.size() < maxGroupSize) {
+            long remaining = deadline - System.nanoTime();
+            PendingOrder next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (next == null) {
+                return;
+            }
+            group.add(next);
+            queue.drainTo(group, maxGroupSize - group.size());
+        }
+    }
+    
+    private void commit(List<PendingOrder> group) {
+        group.removeIf(pending -> !pending.claim());
+        if (group.isEmpty()) {
+            return;
+        }
+        groupSize.record(group.size());
+        try {
+            orderService.placeOrderGroup(group);
+            group.forEach(PendingOrder::complete);
+        } catch (Throwable ex) {
+            if (group.size() == 1) {
+                group.get(0).getResult().completeExceptionally(ex);
+                return;
+            }
+            meterRegistry.counter("orders.group-commit.fallback").increment();
+            log.warn("Group of {} orders failed, placing them one at a time: {}", group.size(), ex.getMessage());
+            for (PendingOrder pending : group) {
+                try {
+                    pending.getResult().complete(orderService.createOrder(
+                            pending.getRequest(), pending.getCustomerId(), pending.getIdempotencyKey()));
+                } catch (Throwable orderFailure) {
+                    pending.getResult().completeExceptionally(orderFailure);
+                }
+            }
+        }
+    }
+}
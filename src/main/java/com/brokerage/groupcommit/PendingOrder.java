@@ -0,0 +1,57 @@
+package com.brokerage.groupcommit;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.entity.Order;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One order creation waiting for its group. The transaction records the outcome here; the caller
+ * only sees it once the group has committed.
+ */
+@Getter
+public class PendingOrder {
+    
+    private final CreateOrderRequest request;
+    private final Long customerId;
+    private final String idempotencyKey;
+    private final CompletableFuture<OrderResponse> result = new CompletableFuture<>();
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean claimed = new AtomicBoolean();
+    @Setter
+    private Order order;
+    @Setter
+    private OrderResponse response;
+    private RuntimeException rejection;
+    
+    public PendingOrder(CreateOrderRequest request, Long customerId, String idempotencyKey) {
+        this.request = request;
+        this.customerId = customerId;
+        this.idempotencyKey = idempotencyKey;
+    }
+    
+    /**
+     * Taken once, either by the committer about to place the order or by a caller giving up on it,
+     * so an order is never placed after its caller was told it was not.
+     */
+    boolean claim() {
+        return claimed.compareAndSet(false, true);
+    }
+    
+    public void reject(RuntimeException rejection) {
+        this.rejection = rejection;
+    }
+    
+    void complete() {
+        if (rejection != null) {
+            result.completeExceptionally(rejection);
+        } else {
+            result.complete(response);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.brokerage.idempotency;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order.idempotency")
+@Getter
+@Setter
+public class IdempotencyProperties {
+    
+    private long cacheSize = 100000;
+    private long ttlMs = 86400000;
+}
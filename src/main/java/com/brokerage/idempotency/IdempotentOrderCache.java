@@ -0,0 +1,114 @@
+package com.brokerage.idempotency;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.entity.Order;
+import com.brokerage.enums.TimeInForce;
+import com.brokerage.exception.BrokerageException;
+import com.brokerage.repository.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Creates an order at most once per customer and {@code Idempotency-Key}. Recent keys are answered
+ * from memory; older ones, or keys from before a restart, from the unique index on the order, which
+ * also settles two retries racing each other. A key reused for a different order is rejected.
+ */
+@Component
+@Slf4j
+public class IdempotentOrderCache {
+    
+    private final OrderRepository orderRepository;
+    private final MeterRegistry meterRegistry;
+    private final Cache<CacheKey, OrderResponse> responses;
+    
+    public IdempotentOrderCache(OrderRepository orderRepository, IdempotencyProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.orderRepository = orderRepository;
+        this.meterRegistry = meterRegistry;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTtlMs()))
+                .build();
+    }
+    
+    public OrderResponse createOnce(CreateOrderRequest request, Long customerId, String idempotencyKey,
+                                    Supplier<OrderResponse> create) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > Order.IDEMPOTENCY_KEY_LENGTH) {
+            throw new BrokerageException("Idempotency-Key must be 1 to " + Order.IDEMPOTENCY_KEY_LENGTH
+                    + " characters", HttpStatus.BAD_REQUEST);
+        }
+        
+        CacheKey key = new CacheKey(customerId, idempotencyKey);
+        OrderResponse cached = responses.getIfPresent(key);
+        if (cached != null) {
+            return replay(request, cached, "cache");
+        }
+        
+        Optional<OrderResponse> stored = orderRepository.findResponseByIdempotencyKey(customerId, idempotencyKey);
+        if (stored.isPresent()) {
+            responses.put(key, stored.get());
+            return replay(request, stored.get(), "database");
+        }
+        
+        OrderResponse created;
+        try {
+            created = create.get();
+        } catch (DataIntegrityViolationException ex) {
+            // Lost a race with another request carrying the same key
+            OrderResponse winner = orderRepository.findResponseByIdempotencyKey(customerId, idempotencyKey)
+                    .orElseThrow(() -> ex);
+            responses.put(key, winner);
+            return replay(request, winner, "database");
+        }
+        responses.put(key, created);
+        return created;
+    }
+    
+    private OrderResponse replay(CreateOrderRequest request, OrderResponse original, String source) {
+        if (!sameOrder(request, original)) {
+            throw new BrokerageException("Idempotency-Key was already used for a different order",
+                    HttpStatus.UNPROCESSABLE_ENTITY);
+        }
+        log.debug("Replayed order {} from {}", original.getId(), source);
+        meterRegistry.counter("order.idempotency.replayed", "source", source).increment();
+        return original;
+    }
+    
+    private static boolean sameOrder(CreateOrderRequest request, OrderResponse original) {
+        return request.getAssetName().equals(original.getAssetName())
+                && request.getSide() == original.getOrderSide()
+                && request.getSize().compareTo(original.getSize()) == 0
+                && request.getPrice().compareTo(original.getPrice()) == 0
+                && sameExpiry(request, original);
+    }
+    
+    // A request without a time in force was placed as GTC, and only a GTD order keeps the expiry it
+    // was sent with; a DAY order's expiry is the close it was placed before. Compared at the
+    // microsecond precision the column stores.
+    private static boolean sameExpiry(CreateOrderRequest request, OrderResponse original) {
+        TimeInForce timeInForce = request.getTimeInForce() != null ? request.getTimeInForce() : TimeInForce.GTC;
+        if (timeInForce != original.getTimeInForce()) {
+            return false;
+        }
+        if (timeInForce != TimeInForce.GTD) {
+            return request.getExpireAt() == null;
+        }
+        return request.getExpireAt() != null && original.getExpireAt() != null
+                && request.getExpireAt().truncatedTo(ChronoUnit.MICROS)
+                        .equals(original.getExpireAt().truncatedTo(ChronoUnit.MICROS));
+    }
+    
+    private record CacheKey(Long customerId, String idempotencyKey) {
+    }
+}
@@ -15,6 +15,7 @@ public interface CustomerMapper {
     @Mapping(target = "password", ignore = true)
     @Mapping(target = "roles", ignore = true)
     @Mapping(target = "active", ignore = true)
+    @Mapping(target = "tokensValidAfter", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "assets", ignore = true)
     @Mapping(target = "orders", ignore = true)
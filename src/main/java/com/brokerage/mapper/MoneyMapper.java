@@ -0,0 +1,19 @@
+package com.brokerage.mapper;
+
+import com.brokerage.money.Money;
+
+import java.math.BigDecimal;
+
+public final class MoneyMapper {
+    
+    private MoneyMapper() {
+    }
+    
+    public static long toAmount(BigDecimal value) {
+        return Money.of(value);
+    }
+    
+    public static BigDecimal toDecimal(long amount) {
+        return Money.toBigDecimal(amount);
+    }
+}
@@ -8,14 +8,16 @@ import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = MoneyMapper.class)
 public interface OrderMapper {
     
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "customer", ignore = true)
     @Mapping(target = "status", ignore = true)
+    @Mapping(target = "filledSize", ignore = true)
     @Mapping(target = "createDate", ignore = true)
     @Mapping(target = "version", ignore = true)
+    @Mapping(target = "idempotencyKey", ignore = true)
     @Mapping(source = "side", target = "orderSide")
     Order toEntity(CreateOrderRequest request);
     
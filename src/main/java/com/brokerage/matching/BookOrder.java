@@ -0,0 +1,36 @@
+package com.brokerage.matching;
+
+import com.brokerage.entity.Order;
+import com.brokerage.enums.OrderSide;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+public class BookOrder {
+    
+    private final Long orderId;
+    private final Long customerId;
+    private final OrderSide side;
+    private final long price;
+    
+    @Setter(AccessLevel.PACKAGE)
+    private long remainingSize;
+    
+    public BookOrder(Long orderId, Long customerId, OrderSide side, long price, long remainingSize) {
+        this.orderId = orderId;
+        this.customerId = customerId;
+        this.side = side;
+        this.price = price;
+        this.remainingSize = remainingSize;
+    }
+    
+    public static BookOrder of(Order order) {
+        return new BookOrder(order.getId(), order.getCustomer().getId(), order.getOrderSide(), order.getPrice(),
+                order.getSize() - order.getFilledSize());
+    }
+    
+    boolean isFilled() {
+        return remainingSize <= 0;
+    }
+}
@@ -0,0 +1,14 @@
+package com.brokerage.matching;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class Fill {
+    
+    private final Long incomingOrderId;
+    private final Long restingOrderId;
+    private final long price;
+    private final long size;
+}
@@ -0,0 +1,10 @@
+package com.brokerage.matching;
+
+import java.util.List;
+
+/**
+ * Fills of an incoming order, and whether its unfilled remainder was canceled by self-trade
+ * prevention instead of resting in the book.
+ */
+public record MatchResult(List<Fill> fills, boolean remainderCanceled) {
+}
@@ -0,0 +1,100 @@
+package com.brokerage.matching;
+
+import com.brokerage.entity.Order;
+import com.brokerage.enums.OrderStatus;
+import com.brokerage.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds one {@link OrderBook} per asset, loaded from the PENDING orders on first use. A book is
+ * locked for the duration of the calling transaction and its changes are undone if that
+ * transaction rolls back.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MatchingEngine {
+    
+    private final OrderRepository orderRepository;
+    
+    private final ConcurrentMap<String, ReentrantLock> locks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, OrderBook> books = new ConcurrentHashMap<>();
+    
+    public void lockBook(String assetName) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Order book can only be locked inside a transaction");
+        }
+        
+        ReentrantLock lock = locks.computeIfAbsent(assetName, name -> new ReentrantLock());
+        lock.lock();
+        boolean firstHold = lock.getHoldCount() == 1;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                try {
+                    if (firstHold) {
+                        completeBook(assetName, status == STATUS_COMMITTED);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+        
+        books.computeIfAbsent(assetName, this::loadBook);
+    }
+    
+    public MatchResult submit(Order order) {
+        return lockedBook(order.getAssetName()).match(BookOrder.of(order));
+    }
+    
+    public void remove(String assetName, Long orderId) {
+        lockedBook(assetName).remove(orderId);
+    }
+    
+    // Undoing in place keeps the book in step with the database without reloading it; a reload
+    // inside a later transaction could read a snapshot taken before this rollback was visible.
+    private void completeBook(String assetName, boolean committed) {
+        OrderBook book = books.get(assetName);
+        if (book == null) {
+            return;
+        }
+        
+        if (committed) {
+            book.commit();
+            return;
+        }
+        
+        try {
+            book.rollback();
+        } catch (RuntimeException e) {
+            log.error("Failed to roll back order book {}, it will be reloaded", assetName, e);
+            books.remove(assetName);
+        }
+    }
+    
+    private OrderBook lockedBook(String assetName) {
+        ReentrantLock lock = locks.get(assetName);
+        if (lock == null || !lock.isHeldByCurrentThread()) {
+            throw new IllegalStateException("Order book " + assetName + " is not locked by the current transaction");
+        }
+        return books.get(assetName);
+    }
+    
+    private OrderBook loadBook(String assetName) {
+        OrderBook book = new OrderBook(assetName);
+        orderRepository.findByAssetNameAndStatusOrderByCreateDateAscIdAsc(assetName, OrderStatus.PENDING)
+                .forEach(order -> book.add(BookOrder.of(order)));
+        book.commit();
+        log.debug("Loaded order book {} with {} resting orders", assetName, book.size());
+        return book;
+    }
+}
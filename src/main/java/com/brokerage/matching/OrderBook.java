@@ -0,0 +1,162 @@
+package com.brokerage.matching;
+
+import com.brokerage.enums.OrderSide;
+import lombok.Getter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.OptionalLong;
+import java.util.TreeMap;
+
+/**
+ * Price-time priority limit order book for a single asset.
+ * Not thread-safe; {@link MatchingEngine} guards every access with a per-asset lock.
+ * Changes are journaled until {@link #commit()} so that {@link #rollback()} can restore the book
+ * when the owning transaction does not commit.
+ */
+public class OrderBook {
+    
+    @Getter
+    private final String assetName;
+    
+    // Orders within a price level are keyed by id; ids are assigned while the book is locked,
+    // so id order is arrival order and an order put back on rollback regains its place.
+    private final NavigableMap<Long, NavigableMap<Long, BookOrder>> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final NavigableMap<Long, NavigableMap<Long, BookOrder>> asks = new TreeMap<>();
+    private final Map<Long, BookOrder> orders = new HashMap<>();
+    private final Deque<Runnable> undoLog = new ArrayDeque<>();
+    
+    public OrderBook(String assetName) {
+        this.assetName = assetName;
+    }
+    
+    // Fills execute at the resting order's price; any unfilled remainder rests in the book. Self-trade
+    // prevention cancels the newest order: once the incoming order reaches a crossing order of its own
+    // customer, matching stops and its remainder is canceled, since resting it would cross the book.
+    public MatchResult match(BookOrder incoming) {
+        NavigableMap<Long, NavigableMap<Long, BookOrder>> opposite = incoming.getSide() == OrderSide.BUY ? asks : bids;
+        List<Fill> fills = new ArrayList<>();
+        boolean selfTrade = false;
+        
+        Iterator<Map.Entry<Long, NavigableMap<Long, BookOrder>>> levels = opposite.entrySet().iterator();
+        while (!incoming.isFilled() && !selfTrade && levels.hasNext()) {
+            Map.Entry<Long, NavigableMap<Long, BookOrder>> level = levels.next();
+            if (!crosses(incoming, level.getKey())) {
+                break;
+            }
+            
+            Iterator<BookOrder> levelOrders = level.getValue().values().iterator();
+            while (!incoming.isFilled() && levelOrders.hasNext()) {
+                BookOrder resting = levelOrders.next();
+                if (resting.getCustomerId().equals(incoming.getCustomerId())) {
+                    selfTrade = true;
+                    break;
+                }
+                long size = Math.min(incoming.getRemainingSize(), resting.getRemainingSize());
+                
+                fills.add(new Fill(incoming.getOrderId(), resting.getOrderId(), resting.getPrice(), size));
+                incoming.setRemainingSize(incoming.getRemainingSize() - size);
+                resting.setRemainingSize(resting.getRemainingSize() - size);
+                
+                if (resting.isFilled()) {
+                    levelOrders.remove();
+                    orders.remove(resting.getOrderId());
+                    undoLog.push(() -> {
+                        resting.setRemainingSize(size);
+                        insert(resting);
+                    });
+                } else {
+                    undoLog.push(() -> resting.setRemainingSize(resting.getRemainingSize() + size));
+                }
+            }
+            
+            if (level.getValue().isEmpty()) {
+                levels.remove();
+            }
+        }
+        
+        if (!incoming.isFilled() && !selfTrade) {
+            add(incoming);
+        }
+        return new MatchResult(fills, selfTrade);
+    }
+    
+    public void add(BookOrder order) {
+        insert(order);
+        undoLog.push(() -> delete(order.getOrderId()));
+    }
+    
+    public boolean remove(Long orderId) {
+        BookOrder order = delete(orderId);
+        if (order == null) {
+            return false;
+        }
+        undoLog.push(() -> insert(order));
+        return true;
+    }
+    
+    public void commit() {
+        undoLog.clear();
+    }
+    
+    public void rollback() {
+        while (!undoLog.isEmpty()) {
+            undoLog.pop().run();
+        }
+    }
+    
+    public OptionalLong bestBid() {
+        return bids.isEmpty() ? OptionalLong.empty() : OptionalLong.of(bids.firstKey());
+    }
+    
+    public OptionalLong bestAsk() {
+        return asks.isEmpty() ? OptionalLong.empty() : OptionalLong.of(asks.firstKey());
+    }
+    
+    public boolean contains(Long orderId) {
+        return orders.containsKey(orderId);
+    }
+    
+    public int size() {
+        return orders.size();
+    }
+    
+    private void insert(BookOrder order) {
+        sideOf(order.getSide())
+                .computeIfAbsent(order.getPrice(), price -> new TreeMap<>())
+                .put(order.getOrderId(), order);
+        orders.put(order.getOrderId(), order);
+    }
+    
+    private BookOrder delete(Long orderId) {
+        BookOrder order = orders.remove(orderId);
+        if (order == null) {
+            return null;
+        }
+        
+        NavigableMap<Long, NavigableMap<Long, BookOrder>> side = sideOf(order.getSide());
+        NavigableMap<Long, BookOrder> level = side.get(order.getPrice());
+        level.remove(orderId);
+        if (level.isEmpty()) {
+            side.remove(order.getPrice());
+        }
+        return order;
+    }
+    
+    private NavigableMap<Long, NavigableMap<Long, BookOrder>> sideOf(OrderSide side) {
+        return side == OrderSide.BUY ? bids : asks;
+    }
+    
+    private boolean crosses(BookOrder incoming, long bestOppositePrice) {
+        return incoming.getSide() == OrderSide.BUY
+                ? incoming.getPrice() >= bestOppositePrice
+                : incoming.getPrice() <= bestOppositePrice;
+    }
+}
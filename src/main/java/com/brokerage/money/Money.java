@@ -0,0 +1,65 @@
+package com.brokerage.money;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point arithmetic for amounts stored as {@code DECIMAL(19, 4)}. An amount is a primitive
+ * {@code long} holding the value in units of 0.0001, so the order and balance hot path works on
+ * primitives and only converts to {@link BigDecimal} at the API and JDBC boundaries.
+ * All operations throw {@link ArithmeticException} on overflow instead of wrapping.
+ */
+public final class Money {
+    
+    public static final int SCALE = 4;
+    public static final long ONE = 10_000L;
+    public static final long ZERO = 0L;
+    
+    private static final long HALF = ONE / 2;
+    private static final BigDecimal MAX_VALUE = BigDecimal.valueOf(Long.MAX_VALUE, SCALE);
+    private static final BigDecimal MIN_VALUE = BigDecimal.valueOf(Long.MIN_VALUE, SCALE);
+    
+    private Money() {
+    }
+    
+    public static long of(BigDecimal value) {
+        if (value.compareTo(MAX_VALUE) > 0 || value.compareTo(MIN_VALUE) < 0) {
+            throw new ArithmeticException("Amount out of range: " + value);
+        }
+        return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValue();
+    }
+    
+    public static long of(String value) {
+        return of(new BigDecimal(value));
+    }
+    
+    public static BigDecimal toBigDecimal(long amount) {
+        return BigDecimal.valueOf(amount, SCALE);
+    }
+    
+    public static long add(long a, long b) {
+        return Math.addExact(a, b);
+    }
+    
+    public static long subtract(long a, long b) {
+        return Math.subtractExact(a, b);
+    }
+    
+    // Product of two scale-4 amounts rounded half-up back to scale 4, e.g. price * size.
+    // Stays on primitives unless the intermediate scale-8 product does not fit in a long.
+    public static long multiply(long a, long b) {
+        long high = Math.multiplyHigh(a, b);
+        long product = a * b;
+        if (high == (product >> 63) && product < Long.MAX_VALUE - HALF && product > Long.MIN_VALUE + HALF) {
+            return product >= 0 ? (product + HALF) / ONE : -((HALF - product) / ONE);
+        }
+        return toBigDecimal(a).multiply(toBigDecimal(b))
+                .setScale(SCALE, RoundingMode.HALF_UP)
+                .unscaledValue()
+                .longValueExact();
+    }
+    
+    public static String toString(long amount) {
+        return toBigDecimal(amount).toPlainString();
+    }
+}
@@ -0,0 +1,20 @@
+package com.brokerage.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.math.BigDecimal;
+
+@Converter
+public class MoneyConverter implements AttributeConverter<Long, BigDecimal> {
+    
+    @Override
+    public BigDecimal convertToDatabaseColumn(Long amount) {
+        return amount == null ? null : Money.toBigDecimal(amount);
+    }
+    
+    @Override
+    public Long convertToEntityAttribute(BigDecimal value) {
+        return value == null ? null : Money.of(value);
+    }
+}
@@ -0,0 +1,37 @@
+package com.brokerage.pagination;
+
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.exception.BrokerageException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position after the last order of a page in {@code (createDate, id)} descending order. Clients
+ * receive it as an opaque token and send it back unchanged to fetch the next page.
+ */
+public record OrderCursor(LocalDateTime createDate, Long id) {
+    
+    public static OrderCursor after(OrderResponse order) {
+        return new OrderCursor(order.getCreateDate(), order.getId());
+    }
+    
+    public static OrderCursor decode(String token) {
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('|');
+            return new OrderCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new BrokerageException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+    
+    public String encode() {
+        String value = createDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
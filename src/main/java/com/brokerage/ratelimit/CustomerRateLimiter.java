@@ -0,0 +1,65 @@
+package com.brokerage.ratelimit;
+
+import com.brokerage.enums.RateLimitBudget;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One token bucket per customer and {@link RateLimitBudget}. Buckets of customers that stay idle are
+ * dropped, as are the least recently used ones once {@code rate-limit.max-customers} is reached; a
+ * dropped customer starts again with full buckets.
+ */
+@Component
+public class CustomerRateLimiter {
+    
+    private final RateLimitProperties properties;
+    private final Cache<Long, TokenBucket[]> buckets;
+    
+    public CustomerRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxCustomers())
+                .expireAfterAccess(Duration.ofMillis(properties.getIdleEvictionMs()))
+                .build();
+    }
+    
+    /**
+     * Takes a token from the customer's {@code budget} and returns 0, or returns the nanoseconds until
+     * the budget has a token again.
+     */
+    public long tryAcquire(Long customerId, RateLimitBudget budget) {
+        return tryAcquire(customerId, budget, 1);
+    }
+    
+    /**
+     * Takes {@code permits} tokens at once, for a request that stands for several operations.
+     */
+    public long tryAcquire(Long customerId, RateLimitBudget budget, int permits) {
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(customerId, id -> newBuckets(now))[budget.ordinal()];
+        return switch (budget) {
+            case CREATE -> bucket.tryAcquire(now, intervalNanos(properties.getCreatePerSecond()),
+                    properties.getCreateCapacity(), permits);
+            case CANCEL -> bucket.tryAcquire(now, intervalNanos(properties.getCancelPerSecond()),
+                    properties.getCancelCapacity(), permits);
+            case READ -> bucket.tryAcquire(now, intervalNanos(properties.getReadPerSecond()),
+                    properties.getReadCapacity(), permits);
+        };
+    }
+    
+    private static TokenBucket[] newBuckets(long now) {
+        TokenBucket[] customerBuckets = new TokenBucket[RateLimitBudget.values().length];
+        for (int i = 0; i < customerBuckets.length; i++) {
+            customerBuckets[i] = new TokenBucket(now);
+        }
+        return customerBuckets;
+    }
+    
+    private static long intervalNanos(double perSecond) {
+        return (long) (TimeUnit.SECONDS.toNanos(1) / perSecond);
+    }
+}
@@ -0,0 +1,163 @@
+package com.brokerage.ratelimit;
+
+import com.brokerage.dto.response.ApiResponse;
+import com.brokerage.enums.RateLimitBudget;
+import com.brokerage.security.CustomerPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the caller's per-customer budget to order and asset requests. Runs after the JWT filter so
+ * the customer is known; unauthenticated requests pass through and are rejected by authorization.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    private static final String BATCH_CREATE_PATH = "/api/orders/batch";
+    
+    private final CustomerRateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        RateLimitBudget budget = budgetFor(request.getMethod(), path);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        
+        if (budget != null && authentication != null
+                && authentication.getPrincipal() instanceof CustomerPrincipal principal) {
+            int permits = 1;
+            if (budget == RateLimitBudget.CREATE && BATCH_CREATE_PATH.equals(path)) {
+                CachedBodyRequest batch = new CachedBodyRequest(request);
+                permits = batchSize(batch.body);
+                request = batch;
+            }
+            long waitNanos = rateLimiter.tryAcquire(principal.customerId(), budget, permits);
+            if (waitNanos > 0) {
+                reject(response, principal, budget, waitNanos);
+                return;
+            }
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+    
+    static RateLimitBudget budgetFor(String method, String path) {
+        if (path.startsWith("/api/orders")) {
+            return switch (method) {
+                case "POST" -> RateLimitBudget.CREATE;
+                case "DELETE" -> RateLimitBudget.CANCEL;
+                case "GET" -> RateLimitBudget.READ;
+                default -> null;
+            };
+        }
+        if (path.startsWith("/api/assets") && "GET".equals(method)) {
+            return RateLimitBudget.READ;
+        }
+        return null;
+    }
+    
+    // Each order of a batch is charged, so batching does not get around the create budget
+    private int batchSize(byte[] body) {
+        try {
+            return Math.max(1, objectMapper.readTree(body).path("orders").size());
+        } catch (IOException ex) {
+            return 1;
+        }
+    }
+    
+    private void reject(HttpServletResponse response, CustomerPrincipal principal,
+                        RateLimitBudget budget, long waitNanos) throws IOException {
+        log.debug("Rate limit for {} exceeded by customer {}", budget, principal.customerId());
+        meterRegistry.counter("ratelimit.rejected", "budget", budget.name().toLowerCase()).increment();
+        
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(waitNanos / (double) TimeUnit.SECONDS.toNanos(1)));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ApiResponse.error("Too many requests, please retry later"));
+    }
+    
+    /**
+     * Keeps the body read for counting so the controller can read it again.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+                
+                @Override
+                public int read() {
+                    return in.read();
+                }
+                
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            return new BufferedReader(new InputStreamReader(getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.brokerage.ratelimit;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Getter
+@Setter
+public class RateLimitProperties {
+    
+    private boolean enabled = false;
+    private int createCapacity = 20;
+    private double createPerSecond = 10;
+    private int cancelCapacity = 40;
+    private double cancelPerSecond = 20;
+    private int readCapacity = 100;
+    private double readPerSecond = 50;
+    private long maxCustomers = 100000;
+    private long idleEvictionMs = 600000;
+}
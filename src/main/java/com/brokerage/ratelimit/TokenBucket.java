@@ -0,0 +1,38 @@
+package com.brokerage.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A token bucket held as the single instant at which it will be full again, so taking a token is one
+ * compare-and-set. A bucket whose instant has passed holds {@code capacity} tokens, and each token
+ * taken pushes the instant one refill interval further out.
+ */
+final class TokenBucket {
+    
+    private final AtomicLong fullAtNanos;
+    
+    TokenBucket(long nowNanos) {
+        this.fullAtNanos = new AtomicLong(nowNanos);
+    }
+    
+    /**
+     * Takes {@code permits} tokens and returns 0, or returns the nanoseconds until they will be
+     * available. More permits than {@code capacity} are granted from a full bucket, and the excess
+     * is owed: the bucket refills that much later.
+     */
+    long tryAcquire(long nowNanos, long intervalNanos, int capacity, int permits) {
+        long burstNanos = intervalNanos * capacity;
+        while (true) {
+            long fullAt = fullAtNanos.get();
+            long start = Math.max(fullAt, nowNanos);
+            long next = start + intervalNanos * permits;
+            long waitNanos = start + intervalNanos * Math.min(permits, capacity) - burstNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (fullAtNanos.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -1,24 +1,20 @@
 package com.brokerage.repository;
 
+import com.brokerage.dto.response.AssetResponse;
 import com.brokerage.entity.Asset;
 import com.brokerage.entity.Customer;
-import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AssetRepository extends JpaRepository<Asset, Long> {
-    
-    @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT a FROM Asset a WHERE a.customer = :customer AND a.assetName = :assetName")
-    Optional<Asset> findByCustomerAndAssetNameWithLock(@Param("customer") Customer customer, 
-                                                       @Param("assetName") String assetName);
+public interface AssetRepository extends JpaRepository<Asset, Long>, AssetRepositoryCustom {
     
     Optional<Asset> findByCustomerAndAssetName(Customer customer, String assetName);
     
@@ -26,7 +22,45 @@ public interface AssetRepository extends JpaRepository<Asset, Long> {
     
     List<Asset> findByCustomerId(Long customerId);
     
+    @Query("SELECT new com.brokerage.dto.response.AssetResponse(a.id, a.customer.id, a.assetName, a.size, a.usableSize) " +
+           "FROM Asset a WHERE a.customer.id = :customerId")
+    List<AssetResponse> findResponsesByCustomerId(@Param("customerId") Long customerId);
+    
     @Query("SELECT a FROM Asset a WHERE a.customer.id = :customerId AND a.assetName = :assetName")
     Optional<Asset> findByCustomerIdAndAssetName(@Param("customerId") Long customerId, 
                                                  @Param("assetName") String assetName);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Asset a SET a.usableSize = a.usableSize - :amount, a.version = a.version + 1 " +
+           "WHERE a.customer.id = :customerId AND a.assetName = :assetName AND a.usableSize >= :amount")
+    int block(@Param("customerId") Long customerId,
+              @Param("assetName") String assetName,
+              @Param("amount") long amount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Asset a SET a.usableSize = a.usableSize + :amount, a.version = a.version + 1 " +
+           "WHERE a.customer.id = :customerId AND a.assetName = :assetName")
+    int unblock(@Param("customerId") Long customerId,
+                @Param("assetName") String assetName,
+                @Param("amount") long amount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Asset a SET a.size = a.size - :amount, a.version = a.version + 1 " +
+           "WHERE a.customer.id = :customerId AND a.assetName = :assetName AND a.size >= :amount")
+    int withdraw(@Param("customerId") Long customerId,
+                 @Param("assetName") String assetName,
+                 @Param("amount") long amount);
+    
+    @Modifying(flushAutomatically = true)
+    @Query(value = "MERGE INTO assets a " +
+                   "USING (SELECT CAST(:customerId AS BIGINT) AS customer_id, CAST(:assetName AS VARCHAR(255)) AS asset_name) s " +
+                   "ON a.customer_id = s.customer_id AND a.asset_name = s.asset_name " +
+                   "WHEN MATCHED THEN UPDATE SET size = a.size + :amount, usable_size = a.usable_size + :amount, " +
+                   "version = a.version + 1 " +
+                   "WHEN NOT MATCHED THEN INSERT (customer_id, asset_name, size, usable_size, version) " +
+                   "VALUES (s.customer_id, s.asset_name, :amount, :amount, 0)",
+           nativeQuery = true)
+    int deposit(@Param("customerId") Long customerId,
+                @Param("assetName") String assetName,
+                @Param("amount") BigDecimal amount);
 }
\ No newline at end of file
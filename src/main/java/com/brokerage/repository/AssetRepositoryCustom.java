@@ -0,0 +1,16 @@
+package com.brokerage.repository;
+
+import com.brokerage.balance.BalanceKey;
+import com.brokerage.entity.Asset;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface AssetRepositoryCustom {
+    
+    /**
+     * Locks the asset rows of exactly these (customer, asset) pairs, ordered by customer id and then
+     * asset name. Pairs without a row are skipped.
+     */
+    List<Asset> findByBalanceKeysWithLock(Collection<BalanceKey> keys);
+}
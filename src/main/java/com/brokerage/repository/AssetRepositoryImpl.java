@@ -0,0 +1,42 @@
+package com.brokerage.repository;
+
+import com.brokerage.balance.BalanceKey;
+import com.brokerage.entity.Asset;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Collection;
+import java.util.List;
+
+public class AssetRepositoryImpl implements AssetRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Asset> findByBalanceKeysWithLock(Collection<BalanceKey> keys) {
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+        
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Asset> query = cb.createQuery(Asset.class);
+        Root<Asset> root = query.from(Asset.class);
+        Predicate[] pairs = keys.stream()
+                .map(key -> cb.and(
+                        cb.equal(root.get("customer").get("id"), key.customerId()),
+                        cb.equal(root.get("assetName"), key.assetName())))
+                .toArray(Predicate[]::new);
+        query.select(root)
+                .where(cb.or(pairs))
+                .orderBy(cb.asc(root.get("customer").get("id")), cb.asc(root.get("assetName")));
+        return entityManager.createQuery(query)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+    }
+}
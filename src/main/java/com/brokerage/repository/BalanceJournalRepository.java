@@ -0,0 +1,24 @@
+package com.brokerage.repository;
+
+import com.brokerage.entity.BalanceJournalEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BalanceJournalRepository extends JpaRepository<BalanceJournalEntry, Long> {
+    
+    List<BalanceJournalEntry> findAllByOrderById(Limit limit);
+    
+    // By id rather than by range: ids are allocated before commit, so an entry committed after the
+    // batch was read can have a lower id than the batch's last one and must stay for the next fold
+    @Modifying
+    @Query("DELETE FROM BalanceJournalEntry e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -1,14 +1,21 @@
 package com.brokerage.repository;
 
 import com.brokerage.entity.Customer;
+import com.brokerage.repository.projection.TokenCutoffView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-    Optional<Customer> findByUsername(String username);
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerRepositoryCustom {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+    
+    @Query("SELECT c.id AS id, c.tokensValidAfter AS tokensValidAfter FROM Customer c " +
+           "WHERE c.tokensValidAfter > :since")
+    List<TokenCutoffView> findTokenCutoffsAfter(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,14 @@
+package com.brokerage.repository;
+
+import com.brokerage.entity.Customer;
+
+import java.util.Optional;
+
+public interface CustomerRepositoryCustom {
+    
+    /**
+     * Resolves the customer through its {@code username} natural id, so with the second-level cache on a
+     * known user is served from the natural-id, entity and roles regions without a query.
+     */
+    Optional<Customer> findByUsername(String username);
+}
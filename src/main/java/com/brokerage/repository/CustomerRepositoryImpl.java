@@ -0,0 +1,21 @@
+package com.brokerage.repository;
+
+import com.brokerage.entity.Customer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+public class CustomerRepositoryImpl implements CustomerRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public Optional<Customer> findByUsername(String username) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Customer.class)
+                .loadOptional(username);
+    }
+}
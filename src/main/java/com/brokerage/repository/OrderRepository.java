@@ -1,19 +1,30 @@
 package com.brokerage.repository;
 
+import com.brokerage.dto.response.OrderResponse;
 import com.brokerage.entity.Customer;
 import com.brokerage.entity.Order;
 import com.brokerage.enums.OrderStatus;
+import com.brokerage.repository.projection.OrderExpiryView;
+import com.brokerage.repository.projection.OrderStateView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Long> {
+public interface OrderRepository extends JpaRepository<Order, Long>, JpaSpecificationExecutor<Order>,
+        OrderRepositoryCustom {
     
     List<Order> findByCustomer(Customer customer);
     
@@ -31,6 +42,15 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
                                                    @Param("startDate") LocalDateTime startDate,
                                                    @Param("endDate") LocalDateTime endDate);
     
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT o FROM Order o WHERE o.createDate >= :startDate AND o.createDate <= :endDate " +
+           "ORDER BY o.createDate, o.id")
+    Stream<Order> streamByCreateDateRange(@Param("startDate") LocalDateTime startDate,
+                                          @Param("endDate") LocalDateTime endDate);
+    
     List<Order> findByStatus(OrderStatus status);
     
     List<Order> findByCustomerAndStatus(Customer customer, OrderStatus status);
@@ -39,6 +59,69 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     Optional<Order> findByIdAndCustomerId(Long id, Long customerId);
     
+    @Query("SELECT new com.brokerage.dto.response.OrderResponse(o.id, o.customer.id, o.assetName, o.orderSide, " +
+           "o.size, o.price, o.filledSize, o.status, o.timeInForce, o.expireAt, o.createDate) " +
+           "FROM Order o WHERE o.customer.id = :customerId AND o.idempotencyKey = :idempotencyKey")
+    Optional<OrderResponse> findResponseByIdempotencyKey(@Param("customerId") Long customerId,
+                                                         @Param("idempotencyKey") String idempotencyKey);
+    
+    @Query("SELECT new com.brokerage.dto.response.OrderResponse(o.id, o.customer.id, o.assetName, o.orderSide, " +
+           "o.size, o.price, o.filledSize, o.status, o.timeInForce, o.expireAt, o.createDate) " +
+           "FROM Order o WHERE o.id IN :ids")
+    List<OrderResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+    
+    @Query("SELECT o.customer.id FROM Order o WHERE o.id = :id")
+    Optional<Long> findCustomerIdById(@Param("id") Long id);
+    
+    @Query("SELECT o.id AS id, o.customer.id AS customerId, o.assetName AS assetName, o.orderSide AS orderSide, " +
+           "o.size AS size, o.price AS price, o.filledSize AS filledSize, o.status AS status, o.version AS version " +
+           "FROM Order o WHERE o.id = :id")
+    Optional<OrderStateView> findStateById(@Param("id") Long id);
+    
+    @Query("SELECT o.id AS id, o.customer.id AS customerId, o.assetName AS assetName, o.orderSide AS orderSide, " +
+           "o.size AS size, o.price AS price, o.filledSize AS filledSize, o.status AS status, o.version AS version " +
+           "FROM Order o WHERE o.id = :id AND o.customer.id = :customerId")
+    Optional<OrderStateView> findStateByIdAndCustomerId(@Param("id") Long id, @Param("customerId") Long customerId);
+    
+    @Query("SELECT o.id AS id, o.customer.id AS customerId, o.assetName AS assetName, o.orderSide AS orderSide, " +
+           "o.size AS size, o.price AS price, o.filledSize AS filledSize, o.status AS status, o.version AS version " +
+           "FROM Order o WHERE o.id IN :ids")
+    List<OrderStateView> findStatesByIdIn(@Param("ids") List<Long> ids);
+    
+    @Query("SELECT o.id AS id, o.expireAt AS expireAt FROM Order o " +
+           "WHERE o.status = com.brokerage.enums.OrderStatus.PENDING AND o.expireAt IS NOT NULL")
+    List<OrderExpiryView> findPendingExpiries();
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :newStatus, o.version = o.version + 1 " +
+           "WHERE o.id = :id AND o.version = :version AND o.status = :expectedStatus")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("version") Long version,
+                         @Param("expectedStatus") OrderStatus expectedStatus,
+                         @Param("newStatus") OrderStatus newStatus);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.filledSize = o.size, o.status = com.brokerage.enums.OrderStatus.MATCHED, " +
+           "o.version = o.version + 1 " +
+           "WHERE o.id = :id AND o.version = :version AND o.status = com.brokerage.enums.OrderStatus.PENDING")
+    int completeFill(@Param("id") Long id, @Param("version") Long version);
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Order o SET o.filledSize = o.filledSize + :size, " +
+           "o.status = CASE WHEN o.filledSize + :size >= o.size " +
+           "THEN com.brokerage.enums.OrderStatus.MATCHED ELSE o.status END, " +
+           "o.version = o.version + 1 " +
+           "WHERE o.id = :id AND o.status = com.brokerage.enums.OrderStatus.PENDING")
+    int addFill(@Param("id") Long id, @Param("size") long size);
+    
+    List<Order> findByAssetNameAndStatusOrderByCreateDateAscIdAsc(String assetName, OrderStatus status);
+    
+    @Query("SELECT o.id AS id, o.customer.id AS customerId, o.assetName AS assetName, o.orderSide AS orderSide, " +
+           "o.size AS size, o.price AS price, o.filledSize AS filledSize, o.status AS status, o.version AS version " +
+           "FROM Order o WHERE o.assetName = :assetName AND o.status = :status ORDER BY o.createDate, o.id")
+    List<OrderStateView> findStatesByAssetNameAndStatus(@Param("assetName") String assetName,
+                                                        @Param("status") OrderStatus status);
+    
     @Query("SELECT o FROM Order o WHERE o.status = :status")
     List<Order> findPendingOrders(@Param("status") OrderStatus status);
 }
\ No newline at end of file
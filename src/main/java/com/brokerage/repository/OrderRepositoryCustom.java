@@ -0,0 +1,16 @@
+package com.brokerage.repository;
+
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.entity.Order;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    
+    /**
+     * Rows matching the specification selected straight into {@link OrderResponse} through a constructor
+     * expression, so listings neither hydrate nor track {@link Order} entities.
+     */
+    List<OrderResponse> findResponses(Specification<Order> specification, int limit);
+}
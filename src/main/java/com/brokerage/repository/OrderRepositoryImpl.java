@@ -0,0 +1,45 @@
+package com.brokerage.repository;
+
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.entity.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public class OrderRepositoryImpl implements OrderRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<OrderResponse> findResponses(Specification<Order> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<OrderResponse> query = cb.createQuery(OrderResponse.class);
+        Root<Order> root = query.from(Order.class);
+        query.select(cb.construct(OrderResponse.class,
+                root.get("id"),
+                root.get("customer").get("id"),
+                root.get("assetName"),
+                root.get("orderSide"),
+                root.get("size"),
+                root.get("price"),
+                root.get("filledSize"),
+                root.get("status"),
+                root.get("timeInForce"),
+                root.get("expireAt"),
+                root.get("createDate")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
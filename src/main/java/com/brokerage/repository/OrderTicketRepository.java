@@ -0,0 +1,43 @@
+package com.brokerage.repository;
+
+import com.brokerage.entity.OrderTicket;
+import com.brokerage.enums.TicketStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderTicketRepository extends JpaRepository<OrderTicket, String> {
+    
+    List<OrderTicket> findByStatusOrderByAcceptedAt(TicketStatus status, Limit limit);
+    
+    // Only an accepted ticket is finished, so a ticket placed twice after a recovery keeps its first outcome
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderTicket t SET t.status = :status, t.orderId = :orderId, t.message = :message, " +
+           "t.completedAt = :completedAt WHERE t.id = :id AND t.status = com.brokerage.enums.TicketStatus.ACCEPTED")
+    int finish(@Param("id") String id,
+               @Param("status") TicketStatus status,
+               @Param("orderId") Long orderId,
+               @Param("message") String message,
+               @Param("completedAt") LocalDateTime completedAt);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderTicket t SET t.attempts = :attempts " +
+           "WHERE t.id = :id AND t.status = com.brokerage.enums.TicketStatus.ACCEPTED")
+    int recordAttempts(@Param("id") String id, @Param("attempts") int attempts);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderTicket t WHERE t.status <> com.brokerage.enums.TicketStatus.ACCEPTED " +
+           "AND t.completedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,10 @@
+package com.brokerage.repository.projection;
+
+import java.time.LocalDateTime;
+
+public interface OrderExpiryView {
+    
+    Long getId();
+    
+    LocalDateTime getExpireAt();
+}
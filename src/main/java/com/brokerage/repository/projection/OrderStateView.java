@@ -0,0 +1,29 @@
+package com.brokerage.repository.projection;
+
+import com.brokerage.enums.OrderSide;
+import com.brokerage.enums.OrderStatus;
+
+public interface OrderStateView {
+    
+    Long getId();
+    
+    Long getCustomerId();
+    
+    String getAssetName();
+    
+    OrderSide getOrderSide();
+    
+    long getSize();
+    
+    long getPrice();
+    
+    long getFilledSize();
+    
+    OrderStatus getStatus();
+    
+    Long getVersion();
+    
+    default long getRemainingSize() {
+        return getSize() - getFilledSize();
+    }
+}
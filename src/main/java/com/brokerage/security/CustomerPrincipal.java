@@ -0,0 +1,31 @@
+package com.brokerage.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.security.Principal;
+import java.util.List;
+
+/**
+ * Authenticated caller built only from the claims of a verified token, so a request is authorized
+ * without loading the customer.
+ */
+public record CustomerPrincipal(Long customerId, String username, List<String> roles) implements Principal {
+    
+    public static final String ADMIN_ROLE = "ROLE_ADMIN";
+    
+    @Override
+    public String getName() {
+        return username;
+    }
+    
+    public boolean isAdmin() {
+        return roles.contains(ADMIN_ROLE);
+    }
+    
+    public List<GrantedAuthority> authorities() {
+        return roles.stream()
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+}
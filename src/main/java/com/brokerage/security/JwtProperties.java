@@ -15,4 +15,6 @@ public class JwtProperties {
     private long expirationMs = 86400000;
     private String header = "Authorization";
     private String prefix = "Bearer ";
+    private long verifiedTokenCacheSize = 10000;
+    private long revocationRefreshMs = 5000;
 }
\ No newline at end of file
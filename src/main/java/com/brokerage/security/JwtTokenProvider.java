@@ -3,7 +3,7 @@ package com.brokerage.security;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
+import io.jsonwebtoken.security.SecurityException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -13,31 +13,44 @@ import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
     
+    static final String AUTHORITIES_CLAIM = "authorities";
+    static final String CUSTOMER_ID_CLAIM = "customerId";
+    
     private final JwtProperties jwtProperties;
+    private final TokenRevocationList revocationList;
+    private final VerifiedTokenCache verifiedTokens;
+    private final Key signingKey;
+    private final JwtParser parser;
     
-    private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtProperties.getSecret());
-        return Keys.hmacShaKeyFor(keyBytes);
+    public JwtTokenProvider(JwtProperties jwtProperties, TokenRevocationList revocationList,
+                            VerifiedTokenCache verifiedTokens) {
+        this.jwtProperties = jwtProperties;
+        this.revocationList = revocationList;
+        this.verifiedTokens = verifiedTokens;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtProperties.getSecret()));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
     
-    public String generateToken(Authentication authentication) {
+    public String generateToken(Long customerId, Authentication authentication) {
         UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-        return generateToken(userDetails);
+        return generateToken(customerId, userDetails);
     }
     
-    public String generateToken(UserDetails userDetails) {
+    public String generateToken(Long customerId, UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("authorities", userDetails.getAuthorities().stream()
+        claims.put(AUTHORITIES_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
+        claims.put(CUSTOMER_ID_CLAIM, customerId);
         return createToken(claims, userDetails.getUsername());
     }
     
@@ -50,34 +63,55 @@ public class JwtTokenProvider {
                 .setSubject(subject)
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    private Claims extractAllClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
     
-    public <T> T extractClaim(String token, ClaimsResolver<T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.resolve(claims);
+    /**
+     * The caller of a valid, unrevoked token that carries a customer id. Tokens issued before the
+     * customer id claim existed are rejected, so those clients have to log in again. Signature
+     * checks are cached per token until it expires; revocation is checked on every call.
+     */
+    public Optional<CustomerPrincipal> resolvePrincipal(String token) {
+        VerifiedTokenCache.VerifiedToken verified = verifiedTokens.get(token, this::verify);
+        if (verified == null) {
+            return Optional.empty();
+        }
+        
+        CustomerPrincipal principal = verified.principal();
+        if (revocationList.isRevoked(principal.customerId(), verified.issuedAt())) {
+            log.warn("Revoked JWT token for customer {}", principal.customerId());
+            return Optional.empty();
+        }
+        return Optional.of(principal);
     }
     
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private VerifiedTokenCache.VerifiedToken verify(String token) {
+        Claims claims = parseValidClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        
+        Long customerId = claims.get(CUSTOMER_ID_CLAIM, Long.class);
+        if (customerId == null) {
+            log.error("JWT token has no customer id");
+            return null;
+        }
+        
+        List<?> authorities = claims.get(AUTHORITIES_CLAIM, List.class);
+        List<String> roles = authorities == null ? List.of()
+                : authorities.stream().map(String::valueOf).toList();
+        return new VerifiedTokenCache.VerifiedToken(new CustomerPrincipal(customerId, claims.getSubject(), roles),
+                claims.getIssuedAt(), claims.getExpiration());
     }
     
-    public boolean validateToken(String token) {
+    private Claims parseValidClaims(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
+            return extractAllClaims(token);
         } catch (SecurityException ex) {
             log.error("Invalid JWT signature");
         } catch (MalformedJwtException ex) {
@@ -89,19 +123,6 @@ public class JwtTokenProvider {
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
         }
-        return false;
-    }
-    
-    public boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-    
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
-    
-    @FunctionalInterface
-    public interface ClaimsResolver<T> {
-        T resolve(Claims claims);
+        return null;
     }
 }
\ No newline at end of file
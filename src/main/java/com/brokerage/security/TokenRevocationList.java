@@ -0,0 +1,94 @@
+package com.brokerage.security;
+
+import com.brokerage.repository.CustomerRepository;
+import com.brokerage.repository.projection.TokenCutoffView;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tokens are trusted without a customer lookup, so a customer whose roles or active flag change
+ * keeps its old claims until the token expires unless every token issued to it so far is revoked.
+ * <p>
+ * The cutoff is stored on the customer ({@code tokens_valid_after}) and mirrored here so the check
+ * on each request stays in memory. The node that makes a change applies it at commit; every node
+ * reloads the cutoffs still in force at start and every {@code jwt.revocation-refresh-ms}, so a
+ * revocation reaches the other nodes within that interval and survives restarts. Entries are dropped
+ * once every token they cover has expired on its own.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationList {
+    
+    private final JwtProperties jwtProperties;
+    private final CustomerRepository customerRepository;
+    
+    private final Map<Long, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private ScheduledExecutorService refresher;
+    
+    @PostConstruct
+    public void start() {
+        refresh();
+        long refreshMs = jwtProperties.getRevocationRefreshMs();
+        if (refreshMs <= 0) {
+            return;
+        }
+        
+        refresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "token-revocation-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refresher.scheduleWithFixedDelay(() -> {
+            try {
+                refresh();
+            } catch (RuntimeException ex) {
+                log.warn("Token revocation refresh failed", ex);
+            }
+        }, refreshMs, refreshMs, TimeUnit.MILLISECONDS);
+    }
+    
+    @PreDestroy
+    public void stop() {
+        if (refresher != null) {
+            refresher.shutdownNow();
+        }
+    }
+    
+    // Issued-at claims have second precision, so a token issued later in the same second stays valid
+    public void revokeAll(Long customerId, LocalDateTime tokensValidAfter) {
+        revokedBefore.merge(customerId, toInstant(tokensValidAfter),
+                (current, cutoff) -> cutoff.isAfter(current) ? cutoff : current);
+    }
+    
+    public boolean isRevoked(Long customerId, Date issuedAt) {
+        Instant cutoff = revokedBefore.get(customerId);
+        return cutoff != null && (issuedAt == null || issuedAt.toInstant().isBefore(cutoff));
+    }
+    
+    private void refresh() {
+        Instant expired = Instant.now().minusMillis(jwtProperties.getExpirationMs());
+        for (TokenCutoffView cutoff : customerRepository.findTokenCutoffsAfter(
+                LocalDateTime.ofInstant(expired, ZoneId.systemDefault()))) {
+            revokeAll(cutoff.getId(), cutoff.getTokensValidAfter());
+        }
+        revokedBefore.values().removeIf(cutoff -> cutoff.isBefore(expired));
+    }
+    
+    private static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
@@ -0,0 +1,83 @@
+package com.brokerage.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Tokens whose signature has already been checked, keyed by a SHA-256 digest of the token so the
+ * bearer strings themselves are not kept on the heap. An entry lives until the token's own expiry
+ * or until the size bound pushes it out; revocation is not cached and is checked by the caller.
+ * A size of zero turns the cache off.
+ */
+@Component
+public class VerifiedTokenCache {
+    
+    record VerifiedToken(CustomerPrincipal principal, Date issuedAt, Date expiresAt) {
+    }
+    
+    private final Cache<String, VerifiedToken> tokens;
+    
+    public VerifiedTokenCache(JwtProperties jwtProperties) {
+        long maximumSize = jwtProperties.getVerifiedTokenCacheSize();
+        tokens = maximumSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+    }
+    
+    /**
+     * The cached verification of {@code token}, running {@code verifier} on a miss. Tokens the
+     * verifier rejects (returns {@code null} for) are not cached.
+     */
+    VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (tokens == null) {
+            return verifier.apply(token);
+        }
+        return tokens.get(digest(token), key -> verifier.apply(token));
+    }
+    
+    long size() {
+        return tokens == null ? 0 : tokens.estimatedSize();
+    }
+    
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+    
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+        
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.expiresAt() == null) {
+                return 0;
+            }
+            long remainingMs = value.expiresAt().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+        
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+        
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
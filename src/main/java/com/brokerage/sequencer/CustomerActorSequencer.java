@@ -0,0 +1,112 @@
+package com.brokerage.sequencer;
+
+import com.brokerage.concurrency.OptimisticTransactionExecutor;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gives every customer with queued commands its own mailbox, drained by one pooled thread at a
+ * time. Customers are independent, so throughput scales with the pool instead of being capped by
+ * a fixed set of partitions, and one busy customer only delays their own commands.
+ */
+@Component
+@ConditionalOnExpression("${order.sequencer.enabled:false} and '${order.sequencer.strategy:partitioned}'.equalsIgnoreCase('actor')")
+@Slf4j
+public class CustomerActorSequencer extends OrderCommandSequencer {
+    
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    
+    private ExecutorService workers;
+    private volatile boolean running = true;
+    
+    public CustomerActorSequencer(SequencerProperties properties, OptimisticTransactionExecutor executor,
+                                  MeterRegistry meterRegistry) {
+        super(properties, executor);
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(properties.getActorThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "order-actor-" + threadIndex.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("orders.sequencer.mailboxes", mailboxes, ConcurrentMap::size)
+                .description("Customers with queued or running order commands")
+                .register(meterRegistry);
+        log.info("Order sequencer started with per-customer mailboxes on {} threads", properties.getActorThreads());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workers.shutdown();
+        workers.awaitTermination(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+    }
+    
+    // The mailbox is looked up, filled and scheduled inside compute, which is atomic with the
+    // removal of an idle mailbox, so a customer never has two mailboxes draining at once.
+    @Override
+    protected boolean enqueue(Long customerId, Runnable task) {
+        if (!running) {
+            return false;
+        }
+        
+        boolean[] accepted = new boolean[1];
+        boolean[] schedule = new boolean[1];
+        Mailbox mailbox = mailboxes.compute(customerId, (id, current) -> {
+            Mailbox target = current != null ? current : new Mailbox(id);
+            if (target.pending.get() >= properties.getMailboxCapacity()) {
+                return current;
+            }
+            target.queue.add(task);
+            accepted[0] = true;
+            schedule[0] = target.pending.getAndIncrement() == 0;
+            return target;
+        });
+        
+        if (schedule[0]) {
+            workers.execute(mailbox);
+        }
+        return accepted[0];
+    }
+    
+    private class Mailbox implements Runnable {
+        
+        private final Long customerId;
+        private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pending = new AtomicInteger();
+        
+        Mailbox(Long customerId) {
+            this.customerId = customerId;
+        }
+        
+        @Override
+        public void run() {
+            int processed = 0;
+            do {
+                queue.poll().run();
+                if (pending.decrementAndGet() == 0) {
+                    mailboxes.computeIfPresent(customerId, (id, mailbox) ->
+                            mailbox == this && pending.get() == 0 ? null : mailbox);
+                    return;
+                }
+            } while (++processed < properties.getActorThroughput() || !running);
+            
+            // Yield the thread to other customers; this mailbox still has work queued
+            workers.execute(this);
+        }
+    }
+}
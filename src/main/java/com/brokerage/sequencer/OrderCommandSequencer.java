@@ -0,0 +1,85 @@
+package com.brokerage.sequencer;
+
+import com.brokerage.concurrency.OptimisticTransactionExecutor;
+import com.brokerage.exception.BrokerageException;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Serializes order commands per customer in memory. Commands for the same customer never run
+ * concurrently, so they never contend with each other in the database and run optimistically at
+ * READ_COMMITTED; guarded updates still protect balances shared with counterparties.
+ */
+public abstract class OrderCommandSequencer {
+    
+    protected final SequencerProperties properties;
+    private final OptimisticTransactionExecutor executor;
+    
+    protected OrderCommandSequencer(SequencerProperties properties, OptimisticTransactionExecutor executor) {
+        this.properties = properties;
+        this.executor = executor;
+    }
+    
+    /**
+     * Queues the task behind earlier commands of the same customer.
+     * Returns false when the queue is full or the sequencer is stopping.
+     */
+    protected abstract boolean enqueue(Long customerId, Runnable task);
+    
+    /**
+     * Runs the command on the sequencer and waits for its outcome. A command that has not started
+     * within {@code timeout-ms} is dropped and will never run, so the caller can safely retry; one
+     * that has already started is waited for, since its outcome is about to be decided.
+     */
+    public <T> T execute(String operation, Long customerId, Supplier<T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicBoolean claimed = new AtomicBoolean();
+        
+        boolean accepted = enqueue(customerId, () -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result.complete(executor.execute(operation, command));
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        if (!accepted) {
+            throw new BrokerageException("Order queue is full, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        
+        try {
+            try {
+                return result.get(properties.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                if (claimed.compareAndSet(false, true)) {
+                    throw new BrokerageException("Order command timed out in the queue and was not applied, please retry",
+                            HttpStatus.SERVICE_UNAVAILABLE);
+                }
+                return result.get();
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new BrokerageException("Order command failed", ex.getCause(), HttpStatus.INTERNAL_SERVER_ERROR);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new BrokerageException("Interrupted while waiting for order command", ex, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+    
+    public void execute(String operation, Long customerId, Runnable command) {
+        execute(operation, customerId, () -> {
+            command.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,83 @@
+package com.brokerage.sequencer;
+
+import com.brokerage.concurrency.OptimisticTransactionExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies order commands on a single writer thread per partition; a customer always maps to the
+ * same partition.
+ */
+@Component
+@ConditionalOnExpression("${order.sequencer.enabled:false} and '${order.sequencer.strategy:partitioned}'.equalsIgnoreCase('partitioned')")
+@Slf4j
+public class PartitionedOrderSequencer extends OrderCommandSequencer {
+    
+    private final List<Partition> partitions = new ArrayList<>();
+    
+    public PartitionedOrderSequencer(SequencerProperties properties, OptimisticTransactionExecutor executor) {
+        super(properties, executor);
+    }
+    
+    @PostConstruct
+    public void start() {
+        for (int i = 0; i < properties.getPartitions(); i++) {
+            Partition partition = new Partition(i, properties.getQueueCapacity());
+            partition.writer.start();
+            partitions.add(partition);
+        }
+        log.info("Order sequencer started with {} partitions", partitions.size());
+    }
+    
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        for (Partition partition : partitions) {
+            partition.running = false;
+        }
+        for (Partition partition : partitions) {
+            partition.writer.join(properties.getTimeoutMs());
+        }
+    }
+    
+    @Override
+    protected boolean enqueue(Long customerId, Runnable task) {
+        Partition partition = partitions.get(Math.floorMod(customerId.hashCode(), partitions.size()));
+        return partition.running && partition.queue.offer(task);
+    }
+    
+    private static class Partition {
+        
+        private final BlockingQueue<Runnable> queue;
+        private final Thread writer;
+        private volatile boolean running = true;
+        
+        Partition(int index, int capacity) {
+            this.queue = new ArrayBlockingQueue<>(capacity);
+            this.writer = new Thread(this::drain, "order-sequencer-" + index);
+            this.writer.setDaemon(true);
+        }
+        
+        private void drain() {
+            while (running || !queue.isEmpty()) {
+                try {
+                    Runnable command = queue.poll(100, TimeUnit.MILLISECONDS);
+                    if (command != null) {
+                        command.run();
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.brokerage.sequencer;
+
+import com.brokerage.enums.SequencerStrategy;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order.sequencer")
+@Getter
+@Setter
+public class SequencerProperties {
+    
+    private boolean enabled = false;
+    private SequencerStrategy strategy = SequencerStrategy.PARTITIONED;
+    private int partitions = 8;
+    private int queueCapacity = 1024;
+    private int actorThreads = 16;
+    private int mailboxCapacity = 256;
+    private int actorThroughput = 16;
+    private long timeoutMs = 5000;
+}
@@ -1,25 +1,24 @@
 package com.brokerage.service;
 
 import com.brokerage.dto.response.AssetResponse;
-import com.brokerage.entity.Asset;
 import com.brokerage.entity.Customer;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 public interface AssetServiceInterface {
     
-    Asset findOrCreateAsset(Customer customer, String assetName);
+    void depositToAsset(Long customerId, String assetName, long amount);
     
-    Asset getAssetWithLock(Customer customer, String assetName);
+    boolean withdrawFromAsset(Long customerId, String assetName, long amount);
     
-    void depositToAsset(Customer customer, String assetName, BigDecimal amount);
+    boolean blockAsset(Long customerId, String assetName, long amount);
     
-    void withdrawFromAsset(Asset asset, BigDecimal amount);
+    void unblockAsset(Long customerId, String assetName, long amount);
     
-    void blockAsset(Asset asset, BigDecimal amount);
+    long getUsableSize(Long customerId, String assetName);
     
-    void unblockAsset(Asset asset, BigDecimal amount);
+    void applyBalanceChanges(Collection<BalanceChange> changes);
     
     List<AssetResponse> getCustomerAssets(Long customerId);
     
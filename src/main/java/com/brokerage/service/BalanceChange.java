@@ -0,0 +1,25 @@
+package com.brokerage.service;
+
+import com.brokerage.entity.Customer;
+import com.brokerage.money.Money;
+import lombok.Getter;
+
+@Getter
+public class BalanceChange {
+    
+    private final Customer customer;
+    private final String assetName;
+    private long size;
+    private long usableSize;
+    
+    public BalanceChange(Customer customer, String assetName) {
+        this.customer = customer;
+        this.assetName = assetName;
+    }
+    
+    public BalanceChange add(long sizeDelta, long usableSizeDelta) {
+        size = Money.add(size, sizeDelta);
+        usableSize = Money.add(usableSize, usableSizeDelta);
+        return this;
+    }
+}
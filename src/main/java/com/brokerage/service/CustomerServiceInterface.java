@@ -4,6 +4,8 @@ import com.brokerage.dto.request.CustomerRegistrationRequest;
 import com.brokerage.dto.response.CustomerResponse;
 import com.brokerage.entity.Customer;
 
+import java.util.Set;
+
 public interface CustomerServiceInterface {
     
     CustomerResponse registerCustomer(CustomerRegistrationRequest request);
@@ -12,7 +14,11 @@ public interface CustomerServiceInterface {
     
     Customer getCustomerByUsername(String username);
     
+    Customer getCustomerReference(Long id);
+    
     CustomerResponse getCustomerResponseById(Long id);
     
-    boolean isAdmin(String username);
+    CustomerResponse deactivateCustomer(Long customerId);
+    
+    CustomerResponse updateRoles(Long customerId, Set<String> roles);
 }
\ No newline at end of file
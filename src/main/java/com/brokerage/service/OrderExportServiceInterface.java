@@ -0,0 +1,13 @@
+package com.brokerage.service;
+
+import com.brokerage.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+
+public interface OrderExportServiceInterface {
+    
+    long exportOrders(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format, OutputStream out)
+            throws IOException;
+}
@@ -1,8 +1,12 @@
 package com.brokerage.service;
 
+import com.brokerage.dto.request.BatchCreateOrderRequest;
+import com.brokerage.dto.request.BatchMatchOrderRequest;
 import com.brokerage.dto.request.CreateOrderRequest;
 import com.brokerage.dto.request.CreateOrderForCustomerRequest;
 import com.brokerage.dto.request.ListOrdersRequest;
+import com.brokerage.dto.response.BatchMatchResponse;
+import com.brokerage.dto.response.OrderPage;
 import com.brokerage.dto.response.OrderResponse;
 
 import java.time.LocalDateTime;
@@ -10,21 +14,25 @@ import java.util.List;
 
 public interface OrderServiceInterface {
     
-    OrderResponse createOrder(CreateOrderRequest request, String username);
+    OrderResponse createOrder(CreateOrderRequest request, Long customerId);
+    
+    OrderResponse createOrder(CreateOrderRequest request, Long customerId, String idempotencyKey);
+    
+    List<OrderResponse> createOrders(BatchCreateOrderRequest request, Long customerId);
     
     OrderResponse createOrderForCustomer(CreateOrderForCustomerRequest request);
     
-    void cancelOrder(Long orderId, String username);
+    void cancelOrder(Long orderId, Long customerId);
     
     void cancelOrderAsAdmin(Long orderId);
     
     void matchOrder(Long orderId);
     
-    List<OrderResponse> listOrders(ListOrdersRequest request);
+    BatchMatchResponse matchOrders(BatchMatchOrderRequest request);
     
-    List<OrderResponse> listAllOrders();
+    int expireOrders(List<Long> orderIds);
     
-    List<OrderResponse> getCustomerOrders(Long customerId, LocalDateTime startDate, LocalDateTime endDate);
+    OrderPage listOrders(ListOrdersRequest request);
     
-    List<OrderResponse> getOrdersForCurrentUser(String username, LocalDateTime startDate, LocalDateTime endDate);
+    OrderPage getCustomerOrders(Long customerId, LocalDateTime startDate, LocalDateTime endDate, String cursor, int size);
 }
\ No newline at end of file
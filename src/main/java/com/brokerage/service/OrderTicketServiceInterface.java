@@ -0,0 +1,11 @@
+package com.brokerage.service;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderTicketResponse;
+
+public interface OrderTicketServiceInterface {
+    
+    OrderTicketResponse submitOrder(CreateOrderRequest request, Long customerId);
+    
+    OrderTicketResponse getTicket(String ticketId, Long customerId);
+}
@@ -1,20 +1,21 @@
 package com.brokerage.service.impl;
 
+import com.brokerage.balance.BalanceKey;
 import com.brokerage.dto.response.AssetResponse;
 import com.brokerage.entity.Asset;
 import com.brokerage.entity.Customer;
 import com.brokerage.exception.ResourceNotFoundException;
-import com.brokerage.mapper.AssetMapper;
+import com.brokerage.money.Money;
 import com.brokerage.repository.AssetRepository;
 import com.brokerage.service.AssetServiceInterface;
+import com.brokerage.service.BalanceChange;
 import com.brokerage.service.CustomerServiceInterface;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.util.List;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -22,62 +23,76 @@ import java.util.List;
 @Transactional
 public class AssetServiceImpl implements AssetServiceInterface {
     
+    private static final int LOCK_CHUNK_SIZE = 500;
+    
     private final AssetRepository assetRepository;
-    private final AssetMapper assetMapper;
     
-    public Asset findOrCreateAsset(Customer customer, String assetName) {
-        return assetRepository.findByCustomerAndAssetName(customer, assetName)
-                .orElseGet(() -> {
-                    Asset newAsset = Asset.builder()
-                            .customer(customer)
-                            .assetName(assetName)
-                            .size(BigDecimal.ZERO)
-                            .usableSize(BigDecimal.ZERO)
-                            .build();
-                    return assetRepository.save(newAsset);
-                });
+    public void depositToAsset(Long customerId, String assetName, long amount) {
+        assetRepository.deposit(customerId, assetName, Money.toBigDecimal(amount));
+        log.info("Deposited {} {} to customer {}", Money.toString(amount), assetName, customerId);
     }
     
-    public Asset getAssetWithLock(Customer customer, String assetName) {
-        return assetRepository.findByCustomerAndAssetNameWithLock(customer, assetName)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        String.format("Asset %s not found for customer %s", assetName, customer.getUsername())));
+    public boolean withdrawFromAsset(Long customerId, String assetName, long amount) {
+        // Withdrawals settle an amount that was already blocked, so only the total size moves
+        return assetRepository.withdraw(customerId, assetName, amount) == 1;
     }
     
-    public void depositToAsset(Customer customer, String assetName, BigDecimal amount) {
-        Asset asset = findOrCreateAsset(customer, assetName);
-        asset.setSize(asset.getSize().add(amount));
-        asset.setUsableSize(asset.getUsableSize().add(amount));
-        assetRepository.save(asset);
-        log.info("Deposited {} {} to customer {}", amount, assetName, customer.getUsername());
+    public boolean blockAsset(Long customerId, String assetName, long amount) {
+        return assetRepository.block(customerId, assetName, amount) == 1;
     }
     
-    public void withdrawFromAsset(Asset asset, BigDecimal amount) {
-        asset.setSize(asset.getSize().subtract(amount));
-        asset.setUsableSize(asset.getUsableSize().subtract(amount));
-        assetRepository.save(asset);
+    public void unblockAsset(Long customerId, String assetName, long amount) {
+        if (assetRepository.unblock(customerId, assetName, amount) == 0) {
+            throw new ResourceNotFoundException(
+                    String.format("Asset %s not found for customer %s", assetName, customerId));
+        }
     }
     
-    public void blockAsset(Asset asset, BigDecimal amount) {
-        asset.setUsableSize(asset.getUsableSize().subtract(amount));
-        assetRepository.save(asset);
+    @Transactional(readOnly = true)
+    public long getUsableSize(Long customerId, String assetName) {
+        return assetRepository.findByCustomerIdAndAssetName(customerId, assetName)
+                .map(Asset::getUsableSize)
+                .orElse(Money.ZERO);
     }
     
-    public void unblockAsset(Asset asset, BigDecimal amount) {
-        asset.setUsableSize(asset.getUsableSize().add(amount));
-        assetRepository.save(asset);
+    public void applyBalanceChanges(Collection<BalanceChange> changes) {
+        // Only the rows the batch changes are locked, in (customer, asset) order and in chunks that
+        // follow it, so two batches sharing rows always lock them in the same order
+        List<BalanceKey> keys = changes.stream()
+                .map(change -> new BalanceKey(change.getCustomer().getId(), change.getAssetName()))
+                .distinct()
+                .sorted(Comparator.comparing(BalanceKey::customerId).thenComparing(BalanceKey::assetName))
+                .toList();
+        Map<BalanceKey, Asset> assets = new HashMap<>();
+        for (int from = 0; from < keys.size(); from += LOCK_CHUNK_SIZE) {
+            assetRepository.findByBalanceKeysWithLock(keys.subList(from, Math.min(from + LOCK_CHUNK_SIZE, keys.size())))
+                    .forEach(asset -> assets.put(new BalanceKey(asset.getCustomer().getId(), asset.getAssetName()), asset));
+        }
+        
+        List<Asset> changedAssets = new ArrayList<>(changes.size());
+        for (BalanceChange change : changes) {
+            Asset asset = assets.computeIfAbsent(new BalanceKey(change.getCustomer().getId(), change.getAssetName()),
+                    key -> Asset.builder()
+                            .customer(change.getCustomer())
+                            .assetName(key.assetName())
+                            .build());
+            asset.setSize(Money.add(asset.getSize(), change.getSize()));
+            asset.setUsableSize(Money.add(asset.getUsableSize(), change.getUsableSize()));
+            changedAssets.add(asset);
+        }
+        
+        assetRepository.saveAll(changedAssets);
+        log.info("Applied {} balance changes to {} assets", changes.size(), keys.size());
     }
     
     @Transactional(readOnly = true)
     public List<AssetResponse> getCustomerAssets(Long customerId) {
-        List<Asset> assets = assetRepository.findByCustomerId(customerId);
-        return assetMapper.toResponseList(assets);
+        return assetRepository.findResponsesByCustomerId(customerId);
     }
     
     @Transactional(readOnly = true)
     public List<AssetResponse> getCustomerAssets(Customer customer) {
-        List<Asset> assets = assetRepository.findByCustomer(customer);
-        return assetMapper.toResponseList(assets);
+        return assetRepository.findResponsesByCustomerId(customer.getId());
     }
     
     @Override
@@ -12,7 +12,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -34,10 +33,8 @@ public class AuthServiceImpl implements AuthService {
                 )
         );
         
-        SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = tokenProvider.generateToken(authentication);
-        
         Customer customer = customerService.getCustomerByUsername(loginRequest.getUsername());
+        String jwt = tokenProvider.generateToken(customer.getId(), authentication);
         
         return JwtAuthResponse.builder()
                 .accessToken(jwt)
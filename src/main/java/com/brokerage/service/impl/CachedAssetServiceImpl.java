@@ -0,0 +1,83 @@
+package com.brokerage.service.impl;
+
+import com.brokerage.balance.BalanceStore;
+import com.brokerage.dto.response.AssetResponse;
+import com.brokerage.entity.Customer;
+import com.brokerage.exception.ResourceNotFoundException;
+import com.brokerage.money.Money;
+import com.brokerage.service.AssetServiceInterface;
+import com.brokerage.service.BalanceChange;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "asset.balance-cache", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CachedAssetServiceImpl implements AssetServiceInterface {
+    
+    private final AssetServiceImpl assetService;
+    private final BalanceStore balanceStore;
+    
+    @Override
+    public void depositToAsset(Long customerId, String assetName, long amount) {
+        balanceStore.apply(customerId, assetName, amount, amount, false);
+        log.info("Deposited {} {} to customer {}", Money.toString(amount), assetName, customerId);
+    }
+    
+    @Override
+    public boolean withdrawFromAsset(Long customerId, String assetName, long amount) {
+        return balanceStore.apply(customerId, assetName, -amount, Money.ZERO, true);
+    }
+    
+    @Override
+    public boolean blockAsset(Long customerId, String assetName, long amount) {
+        return balanceStore.apply(customerId, assetName, Money.ZERO, -amount, true);
+    }
+    
+    @Override
+    public void unblockAsset(Long customerId, String assetName, long amount) {
+        if (!balanceStore.contains(customerId, assetName)) {
+            throw new ResourceNotFoundException(
+                    String.format("Asset %s not found for customer %s", assetName, customerId));
+        }
+        balanceStore.apply(customerId, assetName, Money.ZERO, amount, false);
+    }
+    
+    @Override
+    public long getUsableSize(Long customerId, String assetName) {
+        return balanceStore.getUsableSize(customerId, assetName).orElse(Money.ZERO);
+    }
+    
+    @Override
+    public void applyBalanceChanges(Collection<BalanceChange> changes) {
+        for (BalanceChange change : changes) {
+            balanceStore.apply(change.getCustomer().getId(), change.getAssetName(),
+                    change.getSize(), change.getUsableSize(), false);
+        }
+        log.info("Applied {} balance changes", changes.size());
+    }
+    
+    // The table lags the store by up to a flush interval, so listings read the store
+    @Override
+    public List<AssetResponse> getCustomerAssets(Long customerId) {
+        return balanceStore.getBalances(customerId);
+    }
+    
+    @Override
+    public List<AssetResponse> getCustomerAssets(Customer customer) {
+        return balanceStore.getBalances(customer.getId());
+    }
+    
+    @Override
+    public List<AssetResponse> getAllAssetsForCustomer(String username) {
+        return assetService.getAllAssetsForCustomer(username);
+    }
+}
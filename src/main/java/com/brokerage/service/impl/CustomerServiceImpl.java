@@ -6,7 +6,9 @@ import com.brokerage.entity.Customer;
 import com.brokerage.exception.BrokerageException;
 import com.brokerage.exception.ResourceNotFoundException;
 import com.brokerage.mapper.CustomerMapper;
+import com.brokerage.money.Money;
 import com.brokerage.repository.CustomerRepository;
+import com.brokerage.security.TokenRevocationList;
 import com.brokerage.service.AssetServiceInterface;
 import com.brokerage.service.CustomerServiceInterface;
 import lombok.extern.slf4j.Slf4j;
@@ -15,8 +17,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashSet;
 import java.util.Set;
 
 @Service
@@ -24,19 +31,24 @@ import java.util.Set;
 @Transactional
 public class CustomerServiceImpl implements CustomerServiceInterface {
     
+    private static final Set<String> ASSIGNABLE_ROLES = Set.of("ROLE_CUSTOMER", "ROLE_ADMIN");
+    
     private final CustomerRepository customerRepository;
     private final AssetServiceInterface assetService;
     private final CustomerMapper customerMapper;
     private final PasswordEncoder passwordEncoder;
+    private final TokenRevocationList tokenRevocationList;
     
     public CustomerServiceImpl(CustomerRepository customerRepository, 
                               @Lazy AssetServiceInterface assetService,
                               CustomerMapper customerMapper,
-                              PasswordEncoder passwordEncoder) {
+                              PasswordEncoder passwordEncoder,
+                              TokenRevocationList tokenRevocationList) {
         this.customerRepository = customerRepository;
         this.assetService = assetService;
         this.customerMapper = customerMapper;
         this.passwordEncoder = passwordEncoder;
+        this.tokenRevocationList = tokenRevocationList;
     }
     
     @Override
@@ -57,7 +69,7 @@ public class CustomerServiceImpl implements CustomerServiceInterface {
         Customer savedCustomer = customerRepository.save(customer);
         
         if (request.getInitialDeposit() != null && request.getInitialDeposit().compareTo(BigDecimal.ZERO) > 0) {
-            assetService.depositToAsset(savedCustomer, "TRY", request.getInitialDeposit());
+            assetService.depositToAsset(savedCustomer.getId(), "TRY", Money.of(request.getInitialDeposit()));
         }
         
         log.info("Customer registered: {}", savedCustomer.getUsername());
@@ -78,6 +90,12 @@ public class CustomerServiceImpl implements CustomerServiceInterface {
                 .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
     }
     
+    // Unloaded proxy for callers whose id comes from a verified token and that only need to reference the customer
+    @Override
+    public Customer getCustomerReference(Long id) {
+        return customerRepository.getReferenceById(id);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public CustomerResponse getCustomerResponseById(Long id) {
@@ -86,9 +104,44 @@ public class CustomerServiceImpl implements CustomerServiceInterface {
     }
     
     @Override
-    @Transactional(readOnly = true)
-    public boolean isAdmin(String username) {
-        Customer customer = getCustomerByUsername(username);
-        return customer.getRoles().contains("ROLE_ADMIN");
+    public CustomerResponse deactivateCustomer(Long customerId) {
+        Customer customer = getCustomerById(customerId);
+        customer.setActive(false);
+        revokeTokens(customer);
+        
+        log.info("Customer deactivated: {}", customer.getUsername());
+        return customerMapper.toResponse(customer);
+    }
+    
+    @Override
+    public CustomerResponse updateRoles(Long customerId, Set<String> roles) {
+        if (!ASSIGNABLE_ROLES.containsAll(roles)) {
+            throw new BrokerageException("Roles must be among " + ASSIGNABLE_ROLES, HttpStatus.BAD_REQUEST);
+        }
+        
+        Customer customer = getCustomerById(customerId);
+        customer.setRoles(new HashSet<>(roles));
+        revokeTokens(customer);
+        
+        log.info("Customer {} now has roles {}", customer.getUsername(), roles);
+        return customerMapper.toResponse(customer);
+    }
+    
+    // Tokens issued before the change carry the old claims. The cutoff is stored with the change, and
+    // this node applies it at commit instead of waiting for its next refresh.
+    private void revokeTokens(Customer customer) {
+        LocalDateTime tokensValidAfter = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        customer.setTokensValidAfter(tokensValidAfter);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            tokenRevocationList.revokeAll(customer.getId(), tokensValidAfter);
+            return;
+        }
+        
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                tokenRevocationList.revokeAll(customer.getId(), tokensValidAfter);
+            }
+        });
     }
 }
\ No newline at end of file
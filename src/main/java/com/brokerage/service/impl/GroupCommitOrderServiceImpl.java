@@ -0,0 +1,86 @@
+package com.brokerage.service.impl;
+
+import com.brokerage.dto.request.BatchCreateOrderRequest;
+import com.brokerage.dto.request.BatchMatchOrderRequest;
+import com.brokerage.dto.request.CreateOrderForCustomerRequest;
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.request.ListOrdersRequest;
+import com.brokerage.dto.response.BatchMatchResponse;
+import com.brokerage.dto.response.OrderPage;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.groupcommit.OrderGroupCommitter;
+import com.brokerage.service.OrderServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Only single-order creates are grouped; baskets are already placed in one transaction
+@Service
+@Primary
+@ConditionalOnExpression("${order.group-commit.enabled:false} and !${order.sequencer.enabled:false}")
+@RequiredArgsConstructor
+public class GroupCommitOrderServiceImpl implements OrderServiceInterface {
+    
+    private final OrderServiceImpl orderService;
+    private final OrderGroupCommitter committer;
+    
+    @Override
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId) {
+        return committer.createOrder(request, customerId, null);
+    }
+    
+    @Override
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId, String idempotencyKey) {
+        return committer.createOrder(request, customerId, idempotencyKey);
+    }
+    
+    @Override
+    public List<OrderResponse> createOrders(BatchCreateOrderRequest request, Long customerId) {
+        return orderService.createOrders(request, customerId);
+    }
+    
+    @Override
+    public OrderResponse createOrderForCustomer(CreateOrderForCustomerRequest request) {
+        return orderService.createOrderForCustomer(request);
+    }
+    
+    @Override
+    public void cancelOrder(Long orderId, Long customerId) {
+        orderService.cancelOrder(orderId, customerId);
+    }
+    
+    @Override
+    public void cancelOrderAsAdmin(Long orderId) {
+        orderService.cancelOrderAsAdmin(orderId);
+    }
+    
+    @Override
+    public void matchOrder(Long orderId) {
+        orderService.matchOrder(orderId);
+    }
+    
+    @Override
+    public BatchMatchResponse matchOrders(BatchMatchOrderRequest request) {
+        return orderService.matchOrders(request);
+    }
+    
+    @Override
+    public int expireOrders(List<Long> orderIds) {
+        return orderService.expireOrders(orderIds);
+    }
+    
+    @Override
+    public OrderPage listOrders(ListOrdersRequest request) {
+        return orderService.listOrders(request);
+    }
+    
+    @Override
+    public OrderPage getCustomerOrders(Long customerId, LocalDateTime startDate, LocalDateTime endDate,
+                                       String cursor, int size) {
+        return orderService.getCustomerOrders(customerId, startDate, endDate, cursor, size);
+    }
+}
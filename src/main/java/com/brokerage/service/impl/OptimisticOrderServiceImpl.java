@@ -0,0 +1,89 @@
+package com.brokerage.service.impl;
+
+import com.brokerage.concurrency.OptimisticTransactionExecutor;
+import com.brokerage.dto.request.BatchCreateOrderRequest;
+import com.brokerage.dto.request.BatchMatchOrderRequest;
+import com.brokerage.dto.request.CreateOrderForCustomerRequest;
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.request.ListOrdersRequest;
+import com.brokerage.dto.response.BatchMatchResponse;
+import com.brokerage.dto.response.OrderPage;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.service.OrderServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// The sequencer already runs its commands optimistically, so it takes precedence when enabled;
+// group commit replaces per-order transactions altogether
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "order.concurrency", name = "mode", havingValue = "optimistic")
+@ConditionalOnExpression("!${order.sequencer.enabled:false} and !${order.group-commit.enabled:false}")
+@RequiredArgsConstructor
+public class OptimisticOrderServiceImpl implements OrderServiceInterface {
+    
+    private final OrderServiceImpl orderService;
+    private final OptimisticTransactionExecutor executor;
+    
+    @Override
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId) {
+        return executor.execute("createOrder", () -> orderService.createOrder(request, customerId));
+    }
+    
+    @Override
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId, String idempotencyKey) {
+        return executor.execute("createOrder", () -> orderService.createOrder(request, customerId, idempotencyKey));
+    }
+    
+    @Override
+    public List<OrderResponse> createOrders(BatchCreateOrderRequest request, Long customerId) {
+        return executor.execute("createOrders", () -> orderService.createOrders(request, customerId));
+    }
+    
+    @Override
+    public OrderResponse createOrderForCustomer(CreateOrderForCustomerRequest request) {
+        return executor.execute("createOrderForCustomer", () -> orderService.createOrderForCustomer(request));
+    }
+    
+    @Override
+    public void cancelOrder(Long orderId, Long customerId) {
+        executor.execute("cancelOrder", () -> orderService.cancelOrder(orderId, customerId));
+    }
+    
+    @Override
+    public void cancelOrderAsAdmin(Long orderId) {
+        executor.execute("cancelOrderAsAdmin", () -> orderService.cancelOrderAsAdmin(orderId));
+    }
+    
+    @Override
+    public void matchOrder(Long orderId) {
+        executor.execute("matchOrder", () -> orderService.matchOrder(orderId));
+    }
+    
+    @Override
+    public BatchMatchResponse matchOrders(BatchMatchOrderRequest request) {
+        return executor.execute("matchOrders", () -> orderService.matchOrders(request));
+    }
+    
+    @Override
+    public int expireOrders(List<Long> orderIds) {
+        return executor.execute("expireOrders", () -> orderService.expireOrders(orderIds));
+    }
+    
+    @Override
+    public OrderPage listOrders(ListOrdersRequest request) {
+        return orderService.listOrders(request);
+    }
+    
+    @Override
+    public OrderPage getCustomerOrders(Long customerId, LocalDateTime startDate, LocalDateTime endDate,
+                                       String cursor, int size) {
+        return orderService.getCustomerOrders(customerId, startDate, endDate, cursor, size);
+    }
+}
@@ -0,0 +1,106 @@
+package com.brokerage.service.impl;
+
+import com.brokerage.entity.Order;
+import com.brokerage.enums.ExportFormat;
+import com.brokerage.mapper.OrderMapper;
+import com.brokerage.money.Money;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.service.OrderExportServiceInterface;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes orders to the response as they are read from a database cursor. Rows are detached in
+ * batches, so memory use does not depend on how many orders the range holds.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderExportServiceImpl implements OrderExportServiceInterface {
+    
+    private static final int CLEAR_INTERVAL = 1000;
+    private static final String CSV_HEADER =
+            "id,customerId,assetName,orderSide,size,price,filledSize,status,timeInForce,expireAt,createDate";
+    
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+    private final ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    @Transactional(readOnly = true)
+    public long exportOrders(LocalDateTime startDate, LocalDateTime endDate, ExportFormat format, OutputStream out)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+        
+        long count = 0;
+        try (Stream<Order> orders = orderRepository.streamByCreateDateRange(startDate, endDate)) {
+            Iterator<Order> iterator = orders.iterator();
+            while (iterator.hasNext()) {
+                Order order = iterator.next();
+                if (format == ExportFormat.CSV) {
+                    writeCsv(writer, order);
+                } else {
+                    writer.write(objectMapper.writeValueAsString(orderMapper.toResponse(order)));
+                }
+                writer.write('\n');
+                
+                if (++count % CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        writer.flush();
+        
+        log.info("Exported {} orders created between {} and {} as {}", count, startDate, endDate, format);
+        return count;
+    }
+    
+    private void writeCsv(Writer writer, Order order) throws IOException {
+        writer.write(String.valueOf(order.getId()));
+        writer.write(',');
+        writer.write(String.valueOf(order.getCustomer().getId()));
+        writer.write(',');
+        writer.write(csvField(order.getAssetName()));
+        writer.write(',');
+        writer.write(order.getOrderSide().name());
+        writer.write(',');
+        writer.write(Money.toString(order.getSize()));
+        writer.write(',');
+        writer.write(Money.toString(order.getPrice()));
+        writer.write(',');
+        writer.write(Money.toString(order.getFilledSize()));
+        writer.write(',');
+        writer.write(order.getStatus().name());
+        writer.write(',');
+        writer.write(order.getTimeInForce().name());
+        writer.write(',');
+        writer.write(order.getExpireAt() != null ? order.getExpireAt().toString() : "");
+        writer.write(',');
+        writer.write(order.getCreateDate().toString());
+    }
+    
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,36 @@
+package com.brokerage.service.impl;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.enums.OrderSide;
+import com.brokerage.enums.TimeInForce;
+import com.brokerage.exception.BrokerageException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Business rules an order request must meet before it is placed, checked apart from placement so
+ * that orders accepted for later placement are held to them up front.
+ */
+@Component
+public class OrderRequestValidator {
+    
+    private static final String TRY_ASSET = "TRY";
+    
+    public void validate(CreateOrderRequest request) {
+        if (request.getSide() == OrderSide.SELL && TRY_ASSET.equals(request.getAssetName())) {
+            throw new BrokerageException("Cannot sell TRY directly", HttpStatus.BAD_REQUEST);
+        }
+        
+        if (request.getSide() == OrderSide.BUY && TRY_ASSET.equals(request.getAssetName())) {
+            throw new BrokerageException("Cannot buy TRY directly", HttpStatus.BAD_REQUEST);
+        }
+        
+        if (request.getTimeInForce() == TimeInForce.GTD && request.getExpireAt() == null) {
+            throw new BrokerageException("Expiry is required for GTD orders", HttpStatus.BAD_REQUEST);
+        }
+        
+        if (request.getTimeInForce() != TimeInForce.GTD && request.getExpireAt() != null) {
+            throw new BrokerageException("Expiry is only allowed for GTD orders", HttpStatus.BAD_REQUEST);
+        }
+    }
+}
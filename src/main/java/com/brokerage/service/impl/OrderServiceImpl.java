@@ -1,32 +1,54 @@
 package com.brokerage.service.impl;
 
+import com.brokerage.balance.BalanceKey;
+import com.brokerage.dto.request.BatchCreateOrderRequest;
+import com.brokerage.dto.request.BatchMatchOrderRequest;
 import com.brokerage.dto.request.CreateOrderRequest;
 import com.brokerage.dto.request.CreateOrderForCustomerRequest;
 import com.brokerage.dto.request.ListOrdersRequest;
+import com.brokerage.dto.response.BatchMatchResponse;
+import com.brokerage.dto.response.OrderPage;
 import com.brokerage.dto.response.OrderResponse;
-import com.brokerage.entity.Asset;
 import com.brokerage.entity.Customer;
 import com.brokerage.entity.Order;
 import com.brokerage.enums.OrderSide;
 import com.brokerage.enums.OrderStatus;
+import com.brokerage.enums.TimeInForce;
 import com.brokerage.exception.BrokerageException;
 import com.brokerage.exception.InsufficientBalanceException;
 import com.brokerage.exception.ResourceNotFoundException;
+import com.brokerage.expiry.OrderExpiryScheduler;
+import com.brokerage.groupcommit.PendingOrder;
 import com.brokerage.mapper.OrderMapper;
+import com.brokerage.matching.Fill;
+import com.brokerage.matching.MatchResult;
+import com.brokerage.matching.MatchingEngine;
+import com.brokerage.money.Money;
+import com.brokerage.pagination.OrderCursor;
 import com.brokerage.repository.OrderRepository;
+import com.brokerage.repository.projection.OrderStateView;
+import com.brokerage.repository.specification.OrderSpecifications;
 import com.brokerage.service.AssetServiceInterface;
+import com.brokerage.service.BalanceChange;
 import com.brokerage.service.CustomerServiceInterface;
 import com.brokerage.service.OrderServiceInterface;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,194 +58,482 @@ import java.util.stream.Collectors;
 public class OrderServiceImpl implements OrderServiceInterface {
     
     private static final String TRY_ASSET = "TRY";
+    private static final int BATCH_LOAD_SIZE = 1000;
+    private static final int MAX_PAGE_SIZE = 500;
     
     private final OrderRepository orderRepository;
     private final AssetServiceInterface assetService;
     private final CustomerServiceInterface customerService;
     private final OrderMapper orderMapper;
+    private final MatchingEngine matchingEngine;
+    private final OrderExpiryScheduler expiryScheduler;
+    private final OrderRequestValidator orderRequestValidator;
     
     @Override
     @Transactional(isolation = Isolation.SERIALIZABLE)
-    public OrderResponse createOrder(CreateOrderRequest request, String username) {
-        Customer customer = customerService.getCustomerByUsername(username);
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId) {
+        return createOrder(request, customerId, null);
+    }
+    
+    @Override
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId, String idempotencyKey) {
+        Customer customer = customerService.getCustomerReference(customerId);
         
-        validateOrderRequest(request);
+        Order savedOrder = placeOrder(customer, request, idempotencyKey);
+        log.info("Order created: {} for customer {}", savedOrder.getId(), customerId);
         
-        Order order = orderMapper.toEntity(request);
-        order.setCustomer(customer);
-        order.setStatus(OrderStatus.PENDING);
+        return orderMapper.toResponse(savedOrder);
+    }
+    
+    @Override
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public List<OrderResponse> createOrders(BatchCreateOrderRequest request, Long customerId) {
+        Customer customer = customerService.getCustomerReference(customerId);
         
-        if (request.getSide() == OrderSide.BUY) {
-            processBuyOrder(customer, request);
-        } else {
-            processSellOrder(customer, request);
+        List<Order> savedOrders = placeOrders(customer, request.getOrders(), null);
+        log.info("{} orders created for customer {}", savedOrders.size(), customerId);
+        
+        return readBack(savedOrders);
+    }
+    
+    // A later order of the same call can fill an earlier one through addFill, which updates the row
+    // but not the managed entity, so responses are read from the database once all are placed
+    private List<OrderResponse> readBack(List<Order> orders) {
+        orderRepository.flush();
+        List<Long> ids = orders.stream().map(Order::getId).toList();
+        Map<Long, OrderResponse> responses = orderRepository.findResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderResponse::getId, response -> response));
+        return orders.stream().map(order -> responses.get(order.getId())).toList();
+    }
+    
+    private Order placeOrder(Customer customer, CreateOrderRequest request, String idempotencyKey) {
+        return placeOrders(customer, List.of(request), idempotencyKey).get(0);
+    }
+    
+    // All orders are reserved together, one guarded update per asset, and either all are placed or none
+    private List<Order> placeOrders(Customer customer, List<CreateOrderRequest> requests, String idempotencyKey) {
+        List<Order> orders = new ArrayList<>(requests.size());
+        Map<String, Long> reservations = new TreeMap<>();
+        
+        for (CreateOrderRequest request : requests) {
+            Order order = newOrder(customer, request, idempotencyKey);
+            orders.add(order);
+            reservations.merge(reservedAsset(order), reservedAmount(order), Money::add);
         }
         
-        Order savedOrder = orderRepository.save(order);
-        log.info("Order created: {} for customer {}", savedOrder.getId(), customer.getUsername());
+        // Books before balances, like every other path; blocking first would hold this customer's
+        // asset row while waiting for a book holder that needs it to settle a fill
+        orders.stream()
+                .map(Order::getAssetName)
+                .distinct()
+                .sorted()
+                .forEach(matchingEngine::lockBook);
+        reservations.forEach((assetName, amount) -> reserve(customer, assetName, amount));
+        
+        List<Order> savedOrders = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            savedOrders.add(orderRepository.save(order));
+        }
+        if (idempotencyKey != null) {
+            // A reused key fails on the unique index here, before the order reaches the book
+            orderRepository.flush();
+        }
         
-        return orderMapper.toResponse(savedOrder);
+        savedOrders.forEach(this::submitToBook);
+        
+        return savedOrders;
     }
     
-    private void processBuyOrder(Customer customer, CreateOrderRequest request) {
-        BigDecimal totalCost = request.getPrice().multiply(request.getSize());
-        Asset tryAsset = assetService.getAssetWithLock(customer, TRY_ASSET);
+    /**
+     * Places the orders of many customers in one transaction, so they share a single commit and their
+     * inserts go out as JDBC batches. Balances are reserved with one guarded update per customer and
+     * asset; when that fails, the customer's orders for the asset are reserved one by one in arrival
+     * order. A request that fails validation or its reservation is rejected on its own and leaves
+     * nothing behind; any other failure rolls back the whole group.
+     */
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public void placeOrderGroup(List<PendingOrder> group) {
+        Map<Long, Customer> customers = new HashMap<>();
+        Map<BalanceKey, List<PendingOrder>> reservations = new TreeMap<>(
+                Comparator.comparing(BalanceKey::customerId).thenComparing(BalanceKey::assetName));
+        
+        for (PendingOrder pending : group) {
+            Customer customer = customers.computeIfAbsent(pending.getCustomerId(), customerService::getCustomerReference);
+            try {
+                pending.setOrder(newOrder(customer, pending.getRequest(), pending.getIdempotencyKey()));
+            } catch (BrokerageException ex) {
+                pending.reject(ex);
+                continue;
+            }
+            reservations.computeIfAbsent(new BalanceKey(customer.getId(), reservedAsset(pending.getOrder())),
+                    key -> new ArrayList<>()).add(pending);
+        }
         
-        if (tryAsset.getUsableSize().compareTo(totalCost) < 0) {
-            throw new InsufficientBalanceException(
-                    String.format("Insufficient TRY balance. Required: %s, Available: %s", 
-                            totalCost, tryAsset.getUsableSize()));
+        reservations.values().stream()
+                .flatMap(List::stream)
+                .map(pending -> pending.getOrder().getAssetName())
+                .distinct()
+                .sorted()
+                .forEach(matchingEngine::lockBook);
+        
+        List<PendingOrder> placed = new ArrayList<>(group.size());
+        reservations.forEach((key, pendingOrders) -> {
+            long total = pendingOrders.stream()
+                    .mapToLong(pending -> reservedAmount(pending.getOrder()))
+                    .reduce(0, Money::add);
+            if (assetService.blockAsset(key.customerId(), key.assetName(), total)) {
+                placed.addAll(pendingOrders);
+                return;
+            }
+            for (PendingOrder pending : pendingOrders) {
+                try {
+                    reserve(pending.getOrder().getCustomer(), key.assetName(), reservedAmount(pending.getOrder()));
+                    placed.add(pending);
+                } catch (InsufficientBalanceException ex) {
+                    pending.reject(ex);
+                }
+            }
+        });
+        
+        List<Order> orders = placed.stream().map(PendingOrder::getOrder).toList();
+        orderRepository.saveAll(orders);
+        orderRepository.flush();
+        orders.forEach(this::submitToBook);
+        
+        List<OrderResponse> responses = readBack(orders);
+        for (int i = 0; i < placed.size(); i++) {
+            placed.get(i).setResponse(responses.get(i));
         }
+        log.info("{} of {} grouped orders created", orders.size(), group.size());
+    }
+    
+    private Order newOrder(Customer customer, CreateOrderRequest request, String idempotencyKey) {
+        orderRequestValidator.validate(request);
         
-        assetService.blockAsset(tryAsset, totalCost);
+        Order order = orderMapper.toEntity(request);
+        order.setCustomer(customer);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTimeInForce(request.getTimeInForce() != null ? request.getTimeInForce() : TimeInForce.GTC);
+        order.setExpireAt(expiryScheduler.resolveExpireAt(order.getTimeInForce(), request.getExpireAt()));
+        order.setIdempotencyKey(idempotencyKey);
+        return order;
     }
     
-    private void processSellOrder(Customer customer, CreateOrderRequest request) {
-        Asset asset = assetService.getAssetWithLock(customer, request.getAssetName());
+    private static String reservedAsset(Order order) {
+        return order.getOrderSide() == OrderSide.BUY ? TRY_ASSET : order.getAssetName();
+    }
+    
+    private static long reservedAmount(Order order) {
+        return order.getOrderSide() == OrderSide.BUY ? Money.multiply(order.getPrice(), order.getSize()) : order.getSize();
+    }
+    
+    private void submitToBook(Order savedOrder) {
+        MatchResult result = matchingEngine.submit(savedOrder);
+        for (Fill fill : result.fills()) {
+            settleFill(savedOrder, fill);
+        }
+        if (result.remainderCanceled()) {
+            cancelSelfTradingRemainder(savedOrder);
+        }
+        if (savedOrder.getStatus() == OrderStatus.PENDING && savedOrder.getExpireAt() != null) {
+            expiryScheduler.schedule(savedOrder.getId(), savedOrder.getExpireAt());
+        }
+    }
+    
+    private void cancelSelfTradingRemainder(Order order) {
+        long remainingSize = Money.subtract(order.getSize(), order.getFilledSize());
+        if (order.getOrderSide() == OrderSide.BUY) {
+            assetService.unblockAsset(order.getCustomer().getId(), TRY_ASSET, Money.multiply(order.getPrice(), remainingSize));
+        } else {
+            assetService.unblockAsset(order.getCustomer().getId(), order.getAssetName(), remainingSize);
+        }
+        order.setStatus(OrderStatus.CANCELED);
         
-        if (asset.getUsableSize().compareTo(request.getSize()) < 0) {
+        log.info("Order {} canceled with {} {} unfilled, it would have traded with an order of the same customer",
+                order.getId(), Money.toString(remainingSize), order.getAssetName());
+    }
+    
+    private void reserve(Customer customer, String assetName, long amount) {
+        if (!assetService.blockAsset(customer.getId(), assetName, amount)) {
             throw new InsufficientBalanceException(
                     String.format("Insufficient %s balance. Required: %s, Available: %s", 
-                            request.getAssetName(), request.getSize(), asset.getUsableSize()));
+                            assetName, Money.toString(amount),
+                            Money.toString(assetService.getUsableSize(customer.getId(), assetName))));
         }
-        
-        assetService.blockAsset(asset, request.getSize());
     }
     
     @Override
     @Transactional(isolation = Isolation.SERIALIZABLE)
-    public void cancelOrder(Long orderId, String username) {
-        Customer customer = customerService.getCustomerByUsername(username);
-        Order order;
+    public void cancelOrder(Long orderId, Long customerId) {
+        OrderStateView order = orderRepository.findStateByIdAndCustomerId(orderId, customerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found or you don't have permission to cancel it"));
         
-        if (customerService.isAdmin(username)) {
-            order = orderRepository.findById(orderId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-        } else {
-            order = orderRepository.findByIdAndCustomerId(orderId, customer.getId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Order not found or you don't have permission to cancel it"));
-        }
+        cancelPendingOrder(order);
         
+        log.info("Order {} canceled by customer {}", orderId, customerId);
+    }
+    
+    private void cancelPendingOrder(OrderStateView order) {
+        OrderStateView canceled = transitionPendingOrder(order, "cancel", current -> orderRepository.transitionStatus(
+                current.getId(), current.getVersion(), OrderStatus.PENDING, OrderStatus.CANCELED));
+        rollbackOrderAssets(canceled);
+    }
+    
+    // Status changes are compare-and-set on (status, version) instead of load-check-save. Every transition
+    // and every fill of an order happens under its book lock, so a lost race is resolved by re-reading once.
+    private OrderStateView transitionPendingOrder(OrderStateView order, String action,
+                                                  ToIntFunction<OrderStateView> compareAndSet) {
         if (order.getStatus() != OrderStatus.PENDING) {
             throw new BrokerageException(
-                    String.format("Cannot cancel order with status %s", order.getStatus()),
+                    String.format("Cannot %s order with status %s", action, order.getStatus()),
                     HttpStatus.BAD_REQUEST);
         }
         
-        rollbackOrderAssets(order);
-        
-        order.setStatus(OrderStatus.CANCELED);
-        orderRepository.save(order);
+        matchingEngine.lockBook(order.getAssetName());
+        OrderStateView current = order;
+        if (compareAndSet.applyAsInt(current) == 0) {
+            current = orderRepository.findStateById(order.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+            if (current.getStatus() != OrderStatus.PENDING) {
+                throw new BrokerageException(
+                        String.format("Cannot %s order with status %s", action, current.getStatus()),
+                        HttpStatus.BAD_REQUEST);
+            }
+            if (compareAndSet.applyAsInt(current) == 0) {
+                throw new OptimisticLockingFailureException("Order " + order.getId() + " was modified concurrently");
+            }
+        }
         
-        log.info("Order {} canceled by user {}", orderId, username);
+        matchingEngine.remove(current.getAssetName(), current.getId());
+        return current;
     }
     
-    private void rollbackOrderAssets(Order order) {
+    private void rollbackOrderAssets(OrderStateView order) {
         if (order.getOrderSide() == OrderSide.BUY) {
-            BigDecimal totalCost = order.getPrice().multiply(order.getSize());
-            Asset tryAsset = assetService.getAssetWithLock(order.getCustomer(), TRY_ASSET);
-            assetService.unblockAsset(tryAsset, totalCost);
+            long totalCost = Money.multiply(order.getPrice(), order.getRemainingSize());
+            assetService.unblockAsset(order.getCustomerId(), TRY_ASSET, totalCost);
         } else {
-            Asset asset = assetService.getAssetWithLock(order.getCustomer(), order.getAssetName());
-            assetService.unblockAsset(asset, order.getSize());
+            assetService.unblockAsset(order.getCustomerId(), order.getAssetName(), order.getRemainingSize());
         }
     }
     
     @Override
     @Transactional(isolation = Isolation.SERIALIZABLE)
     public void matchOrder(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        OrderStateView order = orderRepository.findStateById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new BrokerageException(
-                    String.format("Cannot match order with status %s", order.getStatus()),
-                    HttpStatus.BAD_REQUEST);
+        OrderStateView matched = transitionPendingOrder(order, "match",
+                current -> orderRepository.completeFill(current.getId(), current.getVersion()));
+        settle(matched.getId(), matched.getCustomerId(), matched.getAssetName(), matched.getOrderSide(),
+                matched.getPrice(), matched.getPrice(), matched.getRemainingSize());
+        
+        log.info("Order {} matched", orderId);
+    }
+    
+    @Override
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public BatchMatchResponse matchOrders(BatchMatchOrderRequest request) {
+        List<OrderStateView> orders = loadOrdersToMatch(request);
+        
+        List<Long> matchedOrderIds = new ArrayList<>();
+        List<Long> skippedOrderIds = new ArrayList<>();
+        Map<Long, Map<String, BalanceChange>> changes = new HashMap<>();
+        
+        orders.stream()
+                .filter(order -> order.getStatus() == OrderStatus.PENDING)
+                .map(OrderStateView::getAssetName)
+                .distinct()
+                .sorted()
+                .forEach(matchingEngine::lockBook);
+        
+        // Each order is matched by the same guarded update as a single match, so one canceled or
+        // filled since it was loaded is skipped instead of overwritten
+        for (OrderStateView order : orders) {
+            OrderStateView matched = tryTransitionPendingOrder(order,
+                    current -> orderRepository.completeFill(current.getId(), current.getVersion()));
+            if (matched == null) {
+                skippedOrderIds.add(order.getId());
+                continue;
+            }
+            
+            long remainingSize = matched.getRemainingSize();
+            long totalAmount = Money.multiply(matched.getPrice(), remainingSize);
+            if (matched.getOrderSide() == OrderSide.BUY) {
+                balanceChange(changes, matched.getCustomerId(), TRY_ASSET).add(-totalAmount, Money.ZERO);
+                balanceChange(changes, matched.getCustomerId(), matched.getAssetName()).add(remainingSize, remainingSize);
+            } else {
+                balanceChange(changes, matched.getCustomerId(), matched.getAssetName()).add(-remainingSize, Money.ZERO);
+                balanceChange(changes, matched.getCustomerId(), TRY_ASSET).add(totalAmount, totalAmount);
+            }
+            matchedOrderIds.add(matched.getId());
         }
         
-        executeOrderMatching(order);
+        if (request.getOrderIds() != null) {
+            Set<Long> loadedOrderIds = orders.stream().map(OrderStateView::getId).collect(Collectors.toSet());
+            request.getOrderIds().stream()
+                    .filter(orderId -> !loadedOrderIds.contains(orderId))
+                    .forEach(skippedOrderIds::add);
+        }
         
-        order.setStatus(OrderStatus.MATCHED);
-        orderRepository.save(order);
+        assetService.applyBalanceChanges(changes.values().stream()
+                .flatMap(byAsset -> byAsset.values().stream())
+                .toList());
         
-        log.info("Order {} matched", orderId);
+        log.info("Batch matched {} orders, skipped {}", matchedOrderIds.size(), skippedOrderIds.size());
+        
+        return BatchMatchResponse.builder()
+                .matchedCount(matchedOrderIds.size())
+                .matchedOrderIds(matchedOrderIds)
+                .skippedOrderIds(skippedOrderIds)
+                .build();
     }
     
-    private void executeOrderMatching(Order order) {
-        if (order.getOrderSide() == OrderSide.BUY) {
-            executeBuyOrderMatching(order);
-        } else {
-            executeSellOrderMatching(order);
+    // Due orders go through the same path as a cancel; ones that were filled or canceled meanwhile are skipped
+    @Override
+    @Transactional(isolation = Isolation.SERIALIZABLE)
+    public int expireOrders(List<Long> orderIds) {
+        List<OrderStateView> orders = orderRepository.findStatesByIdIn(orderIds);
+        
+        orders.stream()
+                .filter(order -> order.getStatus() == OrderStatus.PENDING)
+                .map(OrderStateView::getAssetName)
+                .distinct()
+                .sorted()
+                .forEach(matchingEngine::lockBook);
+        
+        int expiredCount = 0;
+        for (OrderStateView order : orders) {
+            OrderStateView expired = tryTransitionPendingOrder(order, this::expire);
+            if (expired != null) {
+                rollbackOrderAssets(expired);
+                expiredCount++;
+            }
         }
+        
+        log.info("Expired {} of {} due orders", expiredCount, orderIds.size());
+        return expiredCount;
     }
     
-    private void executeBuyOrderMatching(Order order) {
-        BigDecimal totalCost = order.getPrice().multiply(order.getSize());
+    // Batch counterpart of transitionPendingOrder, with the books already locked: an order that is no
+    // longer pending, or stops being pending before the update lands, is skipped and null returned
+    private OrderStateView tryTransitionPendingOrder(OrderStateView order, ToIntFunction<OrderStateView> compareAndSet) {
+        if (order.getStatus() != OrderStatus.PENDING) {
+            return null;
+        }
         
-        Asset tryAsset = assetService.getAssetWithLock(order.getCustomer(), TRY_ASSET);
-        assetService.withdrawFromAsset(tryAsset, totalCost);
+        OrderStateView current = order;
+        if (compareAndSet.applyAsInt(current) == 0) {
+            current = orderRepository.findStateById(order.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+            if (current.getStatus() != OrderStatus.PENDING) {
+                return null;
+            }
+            if (compareAndSet.applyAsInt(current) == 0) {
+                throw new OptimisticLockingFailureException("Order " + order.getId() + " was modified concurrently");
+            }
+        }
         
-        Asset targetAsset = assetService.findOrCreateAsset(order.getCustomer(), order.getAssetName());
-        targetAsset.setSize(targetAsset.getSize().add(order.getSize()));
-        targetAsset.setUsableSize(targetAsset.getUsableSize().add(order.getSize()));
+        matchingEngine.remove(current.getAssetName(), current.getId());
+        return current;
     }
     
-    private void executeSellOrderMatching(Order order) {
-        Asset asset = assetService.getAssetWithLock(order.getCustomer(), order.getAssetName());
-        assetService.withdrawFromAsset(asset, order.getSize());
-        
-        BigDecimal totalRevenue = order.getPrice().multiply(order.getSize());
-        Asset tryAsset = assetService.findOrCreateAsset(order.getCustomer(), TRY_ASSET);
-        tryAsset.setSize(tryAsset.getSize().add(totalRevenue));
-        tryAsset.setUsableSize(tryAsset.getUsableSize().add(totalRevenue));
+    private int expire(OrderStateView order) {
+        return orderRepository.transitionStatus(order.getId(), order.getVersion(), OrderStatus.PENDING, OrderStatus.EXPIRED);
     }
     
-    @Override
-    @Transactional(readOnly = true)
-    public List<OrderResponse> listOrders(ListOrdersRequest request) {
-        List<Order> orders;
-        
-        if (request.getCustomerId() != null && request.getStartDate() != null && request.getEndDate() != null) {
-            orders = orderRepository.findByCustomerIdAndCreateDateBetween(
-                    request.getCustomerId(), request.getStartDate(), request.getEndDate());
-        } else if (request.getCustomerId() != null) {
-            orders = orderRepository.findByCustomerId(request.getCustomerId());
-        } else {
-            orders = orderRepository.findAll();
+    private List<OrderStateView> loadOrdersToMatch(BatchMatchOrderRequest request) {
+        if (request.getOrderIds() != null && !request.getOrderIds().isEmpty()) {
+            List<OrderStateView> orders = new ArrayList<>(request.getOrderIds().size());
+            for (int from = 0; from < request.getOrderIds().size(); from += BATCH_LOAD_SIZE) {
+                orders.addAll(orderRepository.findStatesByIdIn(
+                        request.getOrderIds().subList(from, Math.min(from + BATCH_LOAD_SIZE, request.getOrderIds().size()))));
+            }
+            return orders;
         }
         
-        if (request.getStatus() != null) {
-            orders = orders.stream()
-                    .filter(order -> order.getStatus() == request.getStatus())
-                    .collect(Collectors.toList());
+        if (request.getAssetName() != null) {
+            return orderRepository.findStatesByAssetNameAndStatus(request.getAssetName(), OrderStatus.PENDING);
         }
         
-        if (request.getAssetName() != null) {
-            orders = orders.stream()
-                    .filter(order -> order.getAssetName().equals(request.getAssetName()))
-                    .collect(Collectors.toList());
+        throw new BrokerageException("Either orderIds or assetName is required", HttpStatus.BAD_REQUEST);
+    }
+    
+    private BalanceChange balanceChange(Map<Long, Map<String, BalanceChange>> changes, Long customerId, String assetName) {
+        return changes.computeIfAbsent(customerId, id -> new HashMap<>())
+                .computeIfAbsent(assetName, name -> new BalanceChange(customerService.getCustomerReference(customerId), name));
+    }
+    
+    private void settleFill(Order incomingOrder, Fill fill) {
+        OrderStateView restingOrder = orderRepository.findStateById(fill.getRestingOrderId())
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+        
+        settle(incomingOrder.getId(), incomingOrder.getCustomer().getId(), incomingOrder.getAssetName(),
+                incomingOrder.getOrderSide(), incomingOrder.getPrice(), fill.getPrice(), fill.getSize());
+        settle(restingOrder.getId(), restingOrder.getCustomerId(), restingOrder.getAssetName(),
+                restingOrder.getOrderSide(), restingOrder.getPrice(), fill.getPrice(), fill.getSize());
+        
+        incomingOrder.setFilledSize(Money.add(incomingOrder.getFilledSize(), fill.getSize()));
+        if (incomingOrder.getFilledSize() >= incomingOrder.getSize()) {
+            incomingOrder.setStatus(OrderStatus.MATCHED);
+        }
+        if (orderRepository.addFill(restingOrder.getId(), fill.getSize()) == 0) {
+            throw new OptimisticLockingFailureException("Resting order " + restingOrder.getId() + " is no longer pending");
         }
         
-        return orderMapper.toResponseList(orders);
+        log.info("Order {} filled {} {} at {} against order {}",
+                incomingOrder.getId(), Money.toString(fill.getSize()), incomingOrder.getAssetName(),
+                Money.toString(fill.getPrice()), restingOrder.getId());
     }
     
-    @Override
-    @Transactional(readOnly = true)
-    public List<OrderResponse> getCustomerOrders(Long customerId, LocalDateTime startDate, LocalDateTime endDate) {
-        List<Order> orders;
-        if (startDate != null && endDate != null) {
-            orders = orderRepository.findByCustomerIdAndCreateDateBetween(customerId, startDate, endDate);
+    private void settle(Long orderId, Long customerId, String assetName, OrderSide side,
+                        long limitPrice, long executionPrice, long size) {
+        if (side == OrderSide.BUY) {
+            long totalCost = Money.multiply(executionPrice, size);
+            withdrawBlocked(orderId, customerId, TRY_ASSET, totalCost);
+            
+            // TRY was blocked at the limit price, release the improvement when filled below it
+            long priceImprovement = Money.subtract(Money.multiply(limitPrice, size), totalCost);
+            if (priceImprovement > 0) {
+                assetService.unblockAsset(customerId, TRY_ASSET, priceImprovement);
+            }
+            
+            assetService.depositToAsset(customerId, assetName, size);
         } else {
-            orders = orderRepository.findByCustomerId(customerId);
+            withdrawBlocked(orderId, customerId, assetName, size);
+            
+            long totalRevenue = Money.multiply(executionPrice, size);
+            assetService.depositToAsset(customerId, TRY_ASSET, totalRevenue);
+        }
+    }
+    
+    private void withdrawBlocked(Long orderId, Long customerId, String assetName, long amount) {
+        if (!assetService.withdrawFromAsset(customerId, assetName, amount)) {
+            throw new InsufficientBalanceException(
+                    String.format("Insufficient %s balance to settle order %s", assetName, orderId));
         }
-        return orderMapper.toResponseList(orders);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<OrderResponse> getOrdersForCurrentUser(String username, LocalDateTime startDate, LocalDateTime endDate) {
-        Customer customer = customerService.getCustomerByUsername(username);
-        return getCustomerOrders(customer.getId(), startDate, endDate);
+    public OrderPage listOrders(ListOrdersRequest request) {
+        int limit = pageLimit(request.getSize());
+        List<OrderResponse> orders = orderRepository.findResponses(OrderSpecifications.matching(request), limit);
+        return toPage(orders, request.getSize());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public OrderPage getCustomerOrders(Long customerId, LocalDateTime startDate, LocalDateTime endDate,
+                                       String cursor, int size) {
+        return listOrders(ListOrdersRequest.builder()
+                .customerId(customerId)
+                .startDate(startDate)
+                .endDate(endDate)
+                .cursor(cursor)
+                .size(size)
+                .build());
     }
     
     @Override
@@ -236,21 +546,11 @@ public class OrderServiceImpl implements OrderServiceInterface {
                 .side(request.getSide())
                 .size(request.getSize())
                 .price(request.getPrice())
+                .timeInForce(request.getTimeInForce())
+                .expireAt(request.getExpireAt())
                 .build();
         
-        validateOrderRequest(orderRequest);
-        
-        Order order = orderMapper.toEntity(orderRequest);
-        order.setCustomer(customer);
-        order.setStatus(OrderStatus.PENDING);
-        
-        if (request.getSide() == OrderSide.BUY) {
-            processBuyOrder(customer, orderRequest);
-        } else {
-            processSellOrder(customer, orderRequest);
-        }
-        
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = placeOrder(customer, orderRequest, null);
         log.info("Admin created order: {} for customer {}", savedOrder.getId(), customer.getUsername());
         
         return orderMapper.toResponse(savedOrder);
@@ -259,37 +559,29 @@ public class OrderServiceImpl implements OrderServiceInterface {
     @Override
     @Transactional(isolation = Isolation.SERIALIZABLE)
     public void cancelOrderAsAdmin(Long orderId) {
-        Order order = orderRepository.findById(orderId)
+        OrderStateView order = orderRepository.findStateById(orderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
         
-        if (order.getStatus() != OrderStatus.PENDING) {
-            throw new BrokerageException(
-                    String.format("Cannot cancel order with status %s", order.getStatus()),
-                    HttpStatus.BAD_REQUEST);
-        }
-        
-        rollbackOrderAssets(order);
-        
-        order.setStatus(OrderStatus.CANCELED);
-        orderRepository.save(order);
+        cancelPendingOrder(order);
         
         log.info("Admin canceled order {}", orderId);
     }
     
-    @Override
-    @Transactional(readOnly = true)
-    public List<OrderResponse> listAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orderMapper.toResponseList(orders);
+    // One extra row tells whether another page follows without a count query
+    private int pageLimit(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BrokerageException(
+                    String.format("Page size must be between 1 and %d", MAX_PAGE_SIZE), HttpStatus.BAD_REQUEST);
+        }
+        return size + 1;
     }
     
-    private void validateOrderRequest(CreateOrderRequest request) {
-        if (request.getSide() == OrderSide.SELL && TRY_ASSET.equals(request.getAssetName())) {
-            throw new BrokerageException("Cannot sell TRY directly", HttpStatus.BAD_REQUEST);
-        }
-        
-        if (request.getSide() == OrderSide.BUY && TRY_ASSET.equals(request.getAssetName())) {
-            throw new BrokerageException("Cannot buy TRY directly", HttpStatus.BAD_REQUEST);
-        }
+    private OrderPage toPage(List<OrderResponse> orders, int size) {
+        boolean hasNext = orders.size() > size;
+        List<OrderResponse> page = hasNext ? orders.subList(0, size) : orders;
+        return OrderPage.builder()
+                .orders(page)
+                .nextCursor(hasNext ? OrderCursor.after(page.get(size - 1)).encode() : null)
+                .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+package com.brokerage.service.impl;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.dto.response.OrderTicketResponse;
+import com.brokerage.entity.OrderTicket;
+import com.brokerage.enums.TicketStatus;
+import com.brokerage.exception.BrokerageException;
+import com.brokerage.exception.ResourceNotFoundException;
+import com.brokerage.idempotency.IdempotentOrderCache;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.repository.OrderTicketRepository;
+import com.brokerage.service.OrderServiceInterface;
+import com.brokerage.service.OrderTicketServiceInterface;
+import com.brokerage.ticket.OrderTicketProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Accepts orders on the request thread and places them on a fixed pool of workers, so a burst of
+ * submissions queues up and reaches the matching path at the pace the workers can sustain.
+ * <p>
+ * A ticket is stored as {@code ACCEPTED} before the client is answered, and the order is placed
+ * under an idempotency key derived from the ticket. Tickets left accepted by a crash, a restart,
+ * a full queue or a temporary failure are picked up again by the sweeper and placed exactly once;
+ * only a rejection of the order itself, or {@code max-attempts} temporary failures, reject a ticket.
+ */
+@Service
+@ConditionalOnProperty(prefix = "order.async", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class OrderTicketServiceImpl implements OrderTicketServiceInterface {
+    
+    private static final String IDEMPOTENCY_KEY_PREFIX = "ticket:";
+    
+    private final OrderServiceInterface orderService;
+    private final OrderRequestValidator orderRequestValidator;
+    private final IdempotentOrderCache idempotentOrders;
+    private final OrderTicketRepository ticketRepository;
+    private final OrderRepository orderRepository;
+    private final OrderTicketProperties properties;
+    private final MeterRegistry meterRegistry;
+    
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private ThreadPoolExecutor workers;
+    private ScheduledExecutorService sweeper;
+    
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadIndex = new AtomicInteger();
+        workers = new ThreadPoolExecutor(properties.getWorkers(), properties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "order-ticket-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        
+        sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-ticket-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sweeper.scheduleWithFixedDelay(() -> sweep(this::resumeAcceptedTickets),
+                0, properties.getRetryIntervalMs(), TimeUnit.MILLISECONDS);
+        long evictIntervalMs = Math.max(1000, properties.getRetentionMs() / 10);
+        sweeper.scheduleWithFixedDelay(() -> sweep(this::deleteExpiredTickets),
+                evictIntervalMs, evictIntervalMs, TimeUnit.MILLISECONDS);
+        
+        Gauge.builder("orders.async.queue", workers, executor -> executor.getQueue().size())
+                .description("Accepted orders waiting for a worker")
+                .register(meterRegistry);
+        log.info("Asynchronous order acceptance started with {} workers", properties.getWorkers());
+    }
+    
+    // Tickets still queued stay accepted in the database and are placed after the next start
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        sweeper.shutdownNow();
+        workers.shutdown();
+        if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("{} accepted orders left for the next start", workers.shutdownNow().size());
+        }
+    }
+    
+    @Override
+    public OrderTicketResponse submitOrder(CreateOrderRequest request, Long customerId) {
+        orderRequestValidator.validate(request);
+        
+        String ticketId = UUID.randomUUID().toString();
+        // Marked before it is stored so the sweeper never resumes a ticket this request is about to queue
+        inFlight.add(ticketId);
+        OrderTicket ticket;
+        try {
+            ticket = ticketRepository.save(OrderTicket.accepted(ticketId, customerId, request));
+        } catch (RuntimeException ex) {
+            inFlight.remove(ticketId);
+            throw ex;
+        }
+        
+        if (!enqueue(ticketId, request, customerId, 0)) {
+            ticketRepository.deleteById(ticketId);
+            throw new BrokerageException("Order queue is full, please retry later", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        
+        log.debug("Order ticket {} accepted for customer {}", ticketId, customerId);
+        return toResponse(ticket, null);
+    }
+    
+    @Override
+    public OrderTicketResponse getTicket(String ticketId, Long customerId) {
+        OrderTicket ticket = ticketRepository.findById(ticketId)
+                .filter(found -> found.getCustomerId().equals(customerId))
+                .orElseThrow(() -> new ResourceNotFoundException("Order ticket not found"));
+        
+        OrderResponse order = null;
+        if (ticket.getOrderId() != null) {
+            order = orderRepository.findResponsesByIdIn(List.of(ticket.getOrderId())).stream()
+                    .findFirst()
+                    .orElse(null);
+        }
+        return toResponse(ticket, order);
+    }
+    
+    private boolean enqueue(String ticketId, CreateOrderRequest request, Long customerId, int attempts) {
+        inFlight.add(ticketId);
+        try {
+            workers.execute(() -> placeOrder(ticketId, request, customerId, attempts));
+            return true;
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(ticketId);
+            return false;
+        }
+    }
+    
+    private void placeOrder(String ticketId, CreateOrderRequest request, Long customerId, int attempts) {
+        String idempotencyKey = IDEMPOTENCY_KEY_PREFIX + ticketId;
+        try {
+            OrderResponse order = idempotentOrders.createOnce(request, customerId, idempotencyKey,
+                    () -> orderService.createOrder(request, customerId, idempotencyKey));
+            ticketRepository.finish(ticketId, TicketStatus.COMPLETED, order.getId(), null, LocalDateTime.now());
+        } catch (RuntimeException ex) {
+            if (isRejection(ex)) {
+                ticketRepository.finish(ticketId, TicketStatus.REJECTED, null, ex.getMessage(), LocalDateTime.now());
+            } else {
+                retryLater(ticketId, attempts + 1, ex);
+            }
+        } finally {
+            inFlight.remove(ticketId);
+        }
+    }
+    
+    // Overload, timeouts and lock conflicts pass, so only the order's own faults reject the ticket
+    private static boolean isRejection(RuntimeException ex) {
+        return ex instanceof BrokerageException brokerageException
+                && brokerageException.getStatus() != HttpStatus.SERVICE_UNAVAILABLE
+                && brokerageException.getStatus() != HttpStatus.TOO_MANY_REQUESTS;
+    }
+    
+    // The ticket stays accepted and the sweeper queues it again on its next pass
+    private void retryLater(String ticketId, int attempts, RuntimeException failure) {
+        try {
+            if (attempts >= properties.getMaxAttempts()) {
+                log.warn("Order ticket {} failed {} times, giving up", ticketId, attempts, failure);
+                ticketRepository.finish(ticketId, TicketStatus.REJECTED, null,
+                        "Order could not be placed, please submit it again", LocalDateTime.now());
+                return;
+            }
+            log.debug("Order ticket {} will be retried after attempt {}: {}", ticketId, attempts, failure.getMessage());
+            meterRegistry.counter("orders.async.retried").increment();
+            ticketRepository.recordAttempts(ticketId, attempts);
+        } catch (RuntimeException ex) {
+            log.warn("Could not record failed attempt of order ticket {}", ticketId, ex);
+        }
+    }
+    
+    private void sweep(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            log.warn("Order ticket sweep failed", ex);
+        }
+    }
+    
+    private void deleteExpiredTickets() {
+        LocalDateTime cutoff = LocalDateTime.now().minusNanos(properties.getRetentionMs() * 1_000_000);
+        ticketRepository.deleteFinishedBefore(cutoff);
+    }
+    
+    private void resumeAcceptedTickets() {
+        int capacity = workers.getQueue().remainingCapacity();
+        if (capacity == 0) {
+            return;
+        }
+        
+        int resumed = 0;
+        for (OrderTicket ticket : ticketRepository.findByStatusOrderByAcceptedAt(TicketStatus.ACCEPTED,
+                Limit.of(capacity + inFlight.size()))) {
+            if (inFlight.contains(ticket.getId())) {
+                continue;
+            }
+            if (!enqueue(ticket.getId(), ticket.toRequest(), ticket.getCustomerId(), ticket.getAttempts())) {
+                break;
+            }
+            resumed++;
+        }
+        if (resumed > 0) {
+            log.info("Resumed {} accepted order tickets", resumed);
+        }
+    }
+    
+    private OrderTicketResponse toResponse(OrderTicket ticket, OrderResponse order) {
+        return OrderTicketResponse.builder()
+                .ticketId(ticket.getId())
+                .status(ticket.getStatus())
+                .order(order)
+                .message(ticket.getMessage())
+                .acceptedAt(ticket.getAcceptedAt())
+                .completedAt(ticket.getCompletedAt())
+                .build();
+    }
+}
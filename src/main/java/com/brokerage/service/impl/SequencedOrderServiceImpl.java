@@ -0,0 +1,98 @@
+package com.brokerage.service.impl;
+
+import com.brokerage.dto.request.BatchCreateOrderRequest;
+import com.brokerage.dto.request.BatchMatchOrderRequest;
+import com.brokerage.dto.request.CreateOrderForCustomerRequest;
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.request.ListOrdersRequest;
+import com.brokerage.dto.response.BatchMatchResponse;
+import com.brokerage.dto.response.OrderPage;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.exception.ResourceNotFoundException;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.sequencer.OrderCommandSequencer;
+import com.brokerage.service.OrderServiceInterface;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Primary
+@ConditionalOnProperty(prefix = "order.sequencer", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class SequencedOrderServiceImpl implements OrderServiceInterface {
+    
+    private final OrderServiceImpl orderService;
+    private final OrderCommandSequencer sequencer;
+    private final OrderRepository orderRepository;
+    
+    @Override
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId) {
+        return sequencer.execute("createOrder", customerId, () -> orderService.createOrder(request, customerId));
+    }
+    
+    @Override
+    public OrderResponse createOrder(CreateOrderRequest request, Long customerId, String idempotencyKey) {
+        return sequencer.execute("createOrder", customerId,
+                () -> orderService.createOrder(request, customerId, idempotencyKey));
+    }
+    
+    @Override
+    public List<OrderResponse> createOrders(BatchCreateOrderRequest request, Long customerId) {
+        return sequencer.execute("createOrders", customerId, () -> orderService.createOrders(request, customerId));
+    }
+    
+    @Override
+    public OrderResponse createOrderForCustomer(CreateOrderForCustomerRequest request) {
+        return sequencer.execute("createOrderForCustomer", request.getCustomerId(), () -> orderService.createOrderForCustomer(request));
+    }
+    
+    // Routed by the caller, so a customer never queues on another customer's partition; the service
+    // then finds the order only if the caller owns it
+    @Override
+    public void cancelOrder(Long orderId, Long customerId) {
+        sequencer.execute("cancelOrder", customerId, () -> orderService.cancelOrder(orderId, customerId));
+    }
+    
+    @Override
+    public void cancelOrderAsAdmin(Long orderId) {
+        sequencer.execute("cancelOrderAsAdmin", getOrderCustomerId(orderId), () -> orderService.cancelOrderAsAdmin(orderId));
+    }
+    
+    @Override
+    public void matchOrder(Long orderId) {
+        sequencer.execute("matchOrder", getOrderCustomerId(orderId), () -> orderService.matchOrder(orderId));
+    }
+    
+    @Override
+    public BatchMatchResponse matchOrders(BatchMatchOrderRequest request) {
+        // A batch spans many customers, so it cannot be pinned to a single partition
+        return orderService.matchOrders(request);
+    }
+    
+    @Override
+    public int expireOrders(List<Long> orderIds) {
+        return orderService.expireOrders(orderIds);
+    }
+    
+    @Override
+    public OrderPage listOrders(ListOrdersRequest request) {
+        return orderService.listOrders(request);
+    }
+    
+    @Override
+    public OrderPage getCustomerOrders(Long customerId, LocalDateTime startDate, LocalDateTime endDate,
+                                       String cursor, int size) {
+        return orderService.getCustomerOrders(customerId, startDate, endDate, cursor, size);
+    }
+    
+    // Admin commands only; a customer's own commands are routed by the caller
+    private Long getOrderCustomerId(Long orderId) {
+        return orderRepository.findCustomerIdById(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
+    }
+}
@@ -0,0 +1,20 @@
+package com.brokerage.ticket;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "order.async")
+@Getter
+@Setter
+public class OrderTicketProperties {
+    
+    private boolean enabled = false;
+    private int workers = 4;
+    private int queueCapacity = 10000;
+    private long retentionMs = 600000;
+    private long retryIntervalMs = 5000;
+    private int maxAttempts = 10;
+}
@@ -0,0 +1,119 @@
+package com.brokerage.admission;
+
+import com.brokerage.enums.AdmissionPriority;
+import com.brokerage.exception.BrokerageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderAdmissionControllerTest {
+    
+    private AdmissionProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ExecutorService executor;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new AdmissionProperties();
+        properties.setEnabled(true);
+        properties.setInitialLimit(1);
+        properties.setMinLimit(1);
+        properties.setMaxLimit(1);
+        meterRegistry = new SimpleMeterRegistry();
+        executor = Executors.newCachedThreadPool();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+    
+    @Test
+    void admit_GrantsFreedSlotToCancelsBeforeCreates() throws Exception {
+        OrderAdmissionController admissionController = new OrderAdmissionController(properties, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> completed = new CopyOnWriteArrayList<>();
+        
+        Future<?> running = executor.submit(() -> admissionController.admit(AdmissionPriority.CREATE, () -> await(release)));
+        awaitGauge("order.admission.inflight", null, 1);
+        Future<?> create = executor.submit(() -> admissionController.admit(AdmissionPriority.CREATE, () -> completed.add("create")));
+        awaitGauge("order.admission.queued", "create", 1);
+        Future<?> cancel = executor.submit(() -> admissionController.admit(AdmissionPriority.CANCEL, () -> completed.add("cancel")));
+        awaitGauge("order.admission.queued", "cancel", 1);
+        
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        create.get(5, TimeUnit.SECONDS);
+        cancel.get(5, TimeUnit.SECONDS);
+        
+        assertEquals(List.of("cancel", "create"), completed);
+    }
+    
+    @Test
+    void admit_ShedsCreatesButQueuesCancelsOnceCreatesWaitPastLatencyTarget() throws Exception {
+        properties.setLatencyTargetMs(50);
+        OrderAdmissionController admissionController = new OrderAdmissionController(properties, meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        
+        Future<?> running = executor.submit(() -> admissionController.admit(AdmissionPriority.CREATE, () -> await(release)));
+        awaitGauge("order.admission.inflight", null, 1);
+        Future<?> stalled = executor.submit(() -> admissionController.admit(AdmissionPriority.CREATE, () -> "late"));
+        awaitGauge("order.admission.queued", "create", 1);
+        Thread.sleep(60);
+        
+        BrokerageException ex = assertThrows(BrokerageException.class,
+                () -> admissionController.admit(AdmissionPriority.CREATE, () -> "shed"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        assertEquals(1.0, meterRegistry.get("order.admission.rejected").tag("reason", "overloaded").counter().count());
+        
+        Future<String> cancel = executor.submit(() -> admissionController.admit(AdmissionPriority.CANCEL, () -> "canceled"));
+        awaitGauge("order.admission.queued", "cancel", 1);
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        assertEquals("canceled", cancel.get(5, TimeUnit.SECONDS));
+        ExecutionException timedOut = assertThrows(ExecutionException.class, () -> stalled.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(BrokerageException.class, timedOut.getCause());
+    }
+    
+    @Test
+    void adaptiveLimit_GrowsUnderTargetAndShrinksAboveIt() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 2, 100, TimeUnit.MILLISECONDS.toNanos(100));
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(20), limit.limit());
+        }
+        int grown = limit.limit();
+        assertTrue(grown > 10, "limit=" + grown);
+        
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(TimeUnit.MILLISECONDS.toNanos(400), limit.limit());
+        }
+        assertTrue(limit.limit() < grown / 2, "limit=" + limit.limit());
+    }
+    
+    private void awaitGauge(String name, String priority, double expected) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            double value = priority == null ? meterRegistry.get(name).gauge().value()
+                    : meterRegistry.get(name).tag("priority", priority).gauge().value();
+            if (value == expected) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail(name + " never reached " + expected);
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.brokerage.auth;
+
+import com.brokerage.exception.BrokerageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginBulkheadTest {
+    
+    private LoginBulkheadProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LoginBulkhead loginBulkhead;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new LoginBulkheadProperties();
+        properties.setWorkers(1);
+        properties.setQueueCapacity(1);
+        meterRegistry = new SimpleMeterRegistry();
+        loginBulkhead = new LoginBulkhead(properties, meterRegistry);
+        loginBulkhead.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        loginBulkhead.stop();
+    }
+    
+    @Test
+    void submit_RejectsWithTooManyRequestsOnceQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = loginBulkhead.submit("login", () -> {
+            await(release);
+            return "first";
+        });
+        CompletableFuture<String> queued = loginBulkhead.submit("login", () -> "second");
+        
+        BrokerageException ex = assertThrows(BrokerageException.class,
+                () -> loginBulkhead.submit("login", () -> "third"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getStatus());
+        assertEquals(1.0, meterRegistry.get("auth.bulkhead.queue").gauge().value());
+        assertEquals(1.0, meterRegistry.get("auth.bulkhead.rejected").tag("reason", "full").counter().count());
+        
+        release.countDown();
+        assertEquals("first", running.get(5, TimeUnit.SECONDS));
+        assertEquals("second", queued.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void submit_DropsTasksThatWaitedTooLong() {
+        properties.setMaxWaitMs(0);
+        CompletableFuture<String> stale = loginBulkhead.submit("login", () -> "hashed");
+        
+        ExecutionException ex = assertThrows(ExecutionException.class, () -> stale.get(5, TimeUnit.SECONDS));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ((BrokerageException) ex.getCause()).getStatus());
+        assertEquals(1.0, meterRegistry.get("auth.bulkhead.rejected").tag("reason", "expired").counter().count());
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.brokerage.balance;
+
+import com.brokerage.dto.response.AssetResponse;
+import com.brokerage.entity.Asset;
+import com.brokerage.entity.Customer;
+import com.brokerage.money.Money;
+import com.brokerage.repository.AssetRepository;
+import com.brokerage.repository.BalanceJournalRepository;
+import com.brokerage.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BalanceStoreTest {
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private BalanceJournalRepository journalRepository;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private AssetRepository assetRepository;
+    
+    private BalanceCacheProperties properties;
+    private TransactionTemplate transaction;
+    private Long customerId;
+    
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(Customer.builder()
+                .username("balances")
+                .password("secret")
+                .email("balances@example.com")
+                .fullName("Balance Store")
+                .active(true)
+                .build());
+        customerId = customer.getId();
+        assetRepository.save(Asset.builder()
+                .customer(customer)
+                .assetName("TRY")
+                .size(Money.of("1000"))
+                .usableSize(Money.of("1000"))
+                .build());
+        transaction = new TransactionTemplate(transactionManager);
+        
+        properties = new BalanceCacheProperties();
+        properties.setFlushIntervalMs(3_600_000);
+    }
+    
+    @AfterEach
+    void tearDown() {
+        journalRepository.deleteAllInBatch();
+        assetRepository.deleteAllInBatch();
+        customerRepository.deleteAllInBatch();
+    }
+    
+    @Test
+    void committedChanges_SurviveARestartBeforeTheyAreFlushed() {
+        BalanceStore crashed = startStore();
+        transaction.executeWithoutResult(status -> {
+            assertTrue(crashed.apply(customerId, "TRY", Money.ZERO, Money.of("-300"), true));
+            crashed.apply(customerId, "AAPL", Money.of("5"), Money.of("5"), false);
+        });
+        transaction.executeWithoutResult(status -> {
+            assertTrue(crashed.apply(customerId, "TRY", Money.ZERO, Money.of("-200"), true));
+            status.setRollbackOnly();
+        });
+        assertEquals(new BigDecimal("1000.0000"), usableSizeInTable("TRY"));
+        
+        BalanceStore restarted = startStore();
+        
+        assertEquals(Money.of("700"), restarted.getUsableSize(customerId, "TRY").orElseThrow());
+        assertEquals(Money.of("5"), restarted.getUsableSize(customerId, "AAPL").orElseThrow());
+        assertEquals(new BigDecimal("700.0000"), usableSizeInTable("TRY"));
+        assertEquals(0, journalRepository.count());
+    }
+    
+    @Test
+    void getBalances_ListsChangesBeforeTheyAreFlushed() {
+        BalanceStore store = startStore();
+        transaction.executeWithoutResult(status -> {
+            assertTrue(store.apply(customerId, "TRY", Money.ZERO, Money.of("-300"), true));
+            store.apply(customerId, "AAPL", Money.of("5"), Money.of("5"), false);
+        });
+        
+        List<AssetResponse> balances = store.getBalances(customerId);
+        
+        assertEquals(List.of("AAPL", "TRY"), balances.stream().map(AssetResponse::getAssetName).toList());
+        assertNull(balances.get(0).getId());
+        assertEquals(new BigDecimal("5.0000"), balances.get(0).getUsableSize());
+        assertEquals(new BigDecimal("700.0000"), balances.get(1).getUsableSize());
+        assertEquals(new BigDecimal("1000.0000"), usableSizeInTable("TRY"));
+        
+        store.flush();
+        
+        assertNotNull(store.getBalances(customerId).get(0).getId());
+        assertTrue(store.getBalances(customerId + 1).isEmpty());
+    }
+    
+    private BalanceStore startStore() {
+        BalanceStore store = new BalanceStore(properties, jdbcTemplate, journalRepository, transactionManager);
+        store.start();
+        return store;
+    }
+    
+    private BigDecimal usableSizeInTable(String assetName) {
+        return jdbcTemplate.queryForObject("SELECT usable_size FROM assets WHERE customer_id = ? AND asset_name = ?",
+                BigDecimal.class, customerId, assetName);
+    }
+}
@@ -0,0 +1,136 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.repository.CustomerRepository;
+import com.brokerage.security.CustomerPrincipal;
+import com.brokerage.security.JwtAuthenticationFilter;
+import com.brokerage.security.JwtProperties;
+import com.brokerage.security.JwtTokenProvider;
+import com.brokerage.security.TokenRevocationList;
+import com.brokerage.security.VerifiedTokenCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Authenticates one bearer token through {@link JwtAuthenticationFilter} three ways: the old path that
+ * decoded the key and built a parser for each of its two signature checks, a single shared parser
+ * with the verified-token cache turned off, and the verified-token cache. Run with {@code -prof gc}
+ * to see the allocation per request.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+    
+    private JwtProperties properties;
+    private JwtAuthenticationFilter perCallParser;
+    private JwtAuthenticationFilter sharedParser;
+    private JwtAuthenticationFilter verifiedTokenCache;
+    private String authorization;
+    
+    @Setup
+    public void setUp() {
+        properties = new JwtProperties();
+        TokenRevocationList revocationList = new TokenRevocationList(properties, mock(CustomerRepository.class));
+        JwtProperties uncached = new JwtProperties();
+        uncached.setVerifiedTokenCacheSize(0);
+        
+        perCallParser = new JwtAuthenticationFilter(
+                new PerCallParserTokenProvider(uncached, revocationList), properties);
+        sharedParser = new JwtAuthenticationFilter(
+                new JwtTokenProvider(uncached, revocationList, new VerifiedTokenCache(uncached)), properties);
+        JwtTokenProvider cached = new JwtTokenProvider(properties, revocationList, new VerifiedTokenCache(properties));
+        verifiedTokenCache = new JwtAuthenticationFilter(cached, properties);
+        
+        authorization = properties.getPrefix() + cached.generateToken(7L,
+                User.withUsername("benchmark").password("x").authorities("ROLE_USER").build());
+    }
+    
+    @Benchmark
+    public Authentication perCallParser() throws ServletException, IOException {
+        return authenticate(perCallParser);
+    }
+    
+    @Benchmark
+    public Authentication sharedParser() throws ServletException, IOException {
+        return authenticate(sharedParser);
+    }
+    
+    @Benchmark
+    public Authentication verifiedTokenCache() throws ServletException, IOException {
+        return authenticate(verifiedTokenCache);
+    }
+    
+    private Authentication authenticate(JwtAuthenticationFilter filter) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders");
+        request.addHeader(properties.getHeader(), authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        if (authentication == null) {
+            throw new IllegalStateException("Token was not accepted");
+        }
+        return authentication;
+    }
+    
+    /**
+     * The token handling this filter replaced: the secret is decoded and a parser built for every
+     * parse, and the token is parsed once to validate it and again to read its claims.
+     */
+    private static final class PerCallParserTokenProvider extends JwtTokenProvider {
+        
+        private final JwtProperties properties;
+        
+        PerCallParserTokenProvider(JwtProperties properties, TokenRevocationList revocationList) {
+            super(properties, revocationList, new VerifiedTokenCache(properties));
+            this.properties = properties;
+        }
+        
+        @Override
+        public Optional<CustomerPrincipal> resolvePrincipal(String token) {
+            parse(token);
+            Claims claims = parse(token);
+            List<?> authorities = claims.get("authorities", List.class);
+            return Optional.of(new CustomerPrincipal(claims.get("customerId", Long.class), claims.getSubject(),
+                    authorities.stream().map(String::valueOf).toList()));
+        }
+        
+        private Claims parse(String token) {
+            return Jwts.parserBuilder()
+                    .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(properties.getSecret())))
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        }
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtFilterBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
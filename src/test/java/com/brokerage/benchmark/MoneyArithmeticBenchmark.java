@@ -0,0 +1,106 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.money.Money;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the settlement arithmetic of a buy fill (block at limit, withdraw at execution price,
+ * release the price improvement, advance the filled size) on {@link BigDecimal} versus {@link Money}.
+ * Run with {@code -prof gc} to see the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MoneyArithmeticBenchmark {
+    
+    private static final int ORDERS = 1024;
+    
+    private final BigDecimal[] decimalLimitPrices = new BigDecimal[ORDERS];
+    private final BigDecimal[] decimalExecutionPrices = new BigDecimal[ORDERS];
+    private final BigDecimal[] decimalSizes = new BigDecimal[ORDERS];
+    private final long[] limitPrices = new long[ORDERS];
+    private final long[] executionPrices = new long[ORDERS];
+    private final long[] sizes = new long[ORDERS];
+    
+    private BigDecimal decimalUsable;
+    private BigDecimal decimalFilled;
+    private long usable;
+    private long filled;
+    private int next;
+    
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < ORDERS; i++) {
+            long executionPrice = Money.ONE * (50 + random.nextInt(200)) + random.nextInt((int) Money.ONE);
+            long limitPrice = executionPrice + random.nextInt(5 * (int) Money.ONE);
+            long size = Money.ONE * (1 + random.nextInt(100));
+            
+            limitPrices[i] = limitPrice;
+            executionPrices[i] = executionPrice;
+            sizes[i] = size;
+            decimalLimitPrices[i] = Money.toBigDecimal(limitPrice);
+            decimalExecutionPrices[i] = Money.toBigDecimal(executionPrice);
+            decimalSizes[i] = Money.toBigDecimal(size);
+        }
+        decimalUsable = new BigDecimal("1000000000");
+        decimalFilled = BigDecimal.ZERO;
+        usable = Money.of(decimalUsable);
+        filled = Money.ZERO;
+    }
+    
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        int i = next++ & (ORDERS - 1);
+        BigDecimal blocked = decimalLimitPrices[i].multiply(decimalSizes[i]);
+        BigDecimal cost = decimalExecutionPrices[i].multiply(decimalSizes[i]);
+        BigDecimal improvement = decimalLimitPrices[i].subtract(decimalExecutionPrices[i]).multiply(decimalSizes[i]);
+        
+        if (decimalUsable.compareTo(blocked) >= 0) {
+            decimalUsable = decimalUsable.subtract(blocked);
+        }
+        if (improvement.signum() > 0) {
+            decimalUsable = decimalUsable.add(improvement);
+        }
+        decimalUsable = decimalUsable.add(cost);
+        decimalFilled = decimalFilled.add(decimalSizes[i]);
+        blackhole.consume(decimalFilled.compareTo(decimalSizes[i]) >= 0);
+    }
+    
+    @Benchmark
+    public void fixedPoint(Blackhole blackhole) {
+        int i = next++ & (ORDERS - 1);
+        long blocked = Money.multiply(limitPrices[i], sizes[i]);
+        long cost = Money.multiply(executionPrices[i], sizes[i]);
+        long improvement = Money.subtract(blocked, cost);
+        
+        if (usable >= blocked) {
+            usable = Money.subtract(usable, blocked);
+        }
+        if (improvement > 0) {
+            usable = Money.add(usable, improvement);
+        }
+        usable = Money.add(usable, cost);
+        filled = Money.add(filled, sizes[i]);
+        blackhole.consume(filled >= sizes[i]);
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MoneyArithmeticBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
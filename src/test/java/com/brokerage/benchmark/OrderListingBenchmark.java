@@ -0,0 +1,101 @@
+package com.brokerage.benchmark;
+
+import com.brokerage.BrokerageApplication;
+import com.brokerage.dto.request.ListOrdersRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.entity.Order;
+import com.brokerage.mapper.OrderMapper;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.repository.specification.OrderSpecifications;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads one customer's 10k orders newest first, once by loading managed {@link Order} entities and
+ * mapping them, and once through the {@link OrderResponse} constructor expression the listings use.
+ * Run with {@code -prof gc} to see the allocation per read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderListingBenchmark {
+    
+    private static final int ROWS = 10_000;
+    private static final long CUSTOMER_ID = 1_000L;
+    
+    private ConfigurableApplicationContext context;
+    private OrderRepository orderRepository;
+    private OrderMapper orderMapper;
+    private TransactionTemplate readOnly;
+    private Specification<Order> specification;
+    
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(BrokerageApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:benchmark",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.brokerage=WARN")
+                .run();
+        orderRepository = context.getBean(OrderRepository.class);
+        orderMapper = context.getBean(OrderMapper.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        specification = OrderSpecifications.matching(ListOrdersRequest.builder().customerId(CUSTOMER_ID).build());
+        
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO customers (id, username, password, email, full_name, active) " +
+                "VALUES (?, 'benchmark', 'x', 'benchmark@example.com', 'Benchmark', TRUE)", CUSTOMER_ID);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> orders = new ArrayList<>(ROWS);
+        for (long id = 1; id <= ROWS; id++) {
+            orders.add(new Object[]{id, CUSTOMER_ID, Timestamp.valueOf(start.plusMinutes(id))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, customer_id, asset_name, order_side, size, price, " +
+                "filled_size, status, time_in_force, create_date, version) " +
+                "VALUES (?, ?, 'AAPL', 'BUY', 10, 150.25, 0, 'MATCHED', 'GTC', ?, 0)", orders);
+    }
+    
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<OrderResponse> hydratedEntities() {
+        return readOnly.execute(status -> orderMapper.toResponseList(
+                orderRepository.findBy(specification, query -> query.limit(ROWS).all())));
+    }
+    
+    @Benchmark
+    public List<OrderResponse> projection() {
+        return readOnly.execute(status -> orderRepository.findResponses(specification, ROWS));
+    }
+    
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OrderListingBenchmark.class.getSimpleName())
+                .addProfiler("gc")
+                .build())
+                .run();
+    }
+}
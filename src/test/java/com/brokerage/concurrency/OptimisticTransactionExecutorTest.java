@@ -0,0 +1,79 @@
+package com.brokerage.concurrency;
+
+import com.brokerage.exception.BrokerageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OptimisticTransactionExecutorTest {
+    
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticTransactionExecutor executor;
+    
+    @BeforeEach
+    void setUp() {
+        ConcurrencyProperties properties = new ConcurrencyProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoffMs(1);
+        properties.setMaxBackoffMs(2);
+        
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new OptimisticTransactionExecutor(properties, transactionManager, meterRegistry);
+    }
+    
+    @Test
+    void execute_RetriesConcurrencyFailureUntilSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+        
+        String result = executor.execute("createOrder", () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new OptimisticLockingFailureException("conflict");
+            }
+            return "done";
+        });
+        
+        assertEquals("done", result);
+        assertEquals(3, calls.get());
+        assertEquals(2.0, meterRegistry.counter("orders.retry.attempts", "operation", "createOrder").count());
+    }
+    
+    @Test
+    void execute_GivesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+        
+        BrokerageException ex = assertThrows(BrokerageException.class, () -> executor.execute("cancelOrder", () -> {
+            calls.incrementAndGet();
+            throw new OptimisticLockingFailureException("conflict");
+        }));
+        
+        assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+        assertEquals(3, calls.get());
+        assertEquals(1.0, meterRegistry.counter("orders.retry.exhausted", "operation", "cancelOrder").count());
+    }
+    
+    @Test
+    void execute_DoesNotRetryBusinessErrors() {
+        AtomicInteger calls = new AtomicInteger();
+        
+        assertThrows(BrokerageException.class, () -> executor.execute("matchOrder", () -> {
+            calls.incrementAndGet();
+            throw new BrokerageException("Cannot match order with status CANCELED", HttpStatus.BAD_REQUEST);
+        }));
+        
+        assertEquals(1, calls.get());
+    }
+}
@@ -1,10 +1,12 @@
 package com.brokerage.controller;
 
 import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderPage;
 import com.brokerage.dto.response.OrderResponse;
 import com.brokerage.entity.Customer;
 import com.brokerage.enums.OrderSide;
 import com.brokerage.enums.OrderStatus;
+import com.brokerage.security.WithMockCustomer;
 import com.brokerage.service.CustomerServiceInterface;
 import com.brokerage.service.OrderServiceInterface;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -15,7 +17,6 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
-import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
@@ -24,6 +25,9 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -77,9 +81,9 @@ class OrderControllerTest {
     }
     
     @Test
-    @WithMockUser(username = "test.user", roles = {"CUSTOMER"})
+    @WithMockCustomer
     void createOrder_Success() throws Exception {
-        when(orderService.createOrder(any(CreateOrderRequest.class), any(String.class))).thenReturn(orderResponse);
+        when(orderService.createOrder(any(CreateOrderRequest.class), eq(1L))).thenReturn(orderResponse);
         
         mockMvc.perform(post("/api/orders")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -91,7 +95,7 @@ class OrderControllerTest {
     }
     
     @Test
-    @WithMockUser(username = "test.user", roles = {"CUSTOMER"})
+    @WithMockCustomer
     void createOrder_InvalidRequest() throws Exception {
         createOrderRequest.setSize(null);
         
@@ -102,22 +106,23 @@ class OrderControllerTest {
     }
     
     @Test
-    @WithMockUser(username = "test.user", roles = {"CUSTOMER"})
+    @WithMockCustomer
     void listOrders_Success() throws Exception {
-        List<OrderResponse> orders = Arrays.asList(orderResponse);
-        when(orderService.getOrdersForCurrentUser(any(String.class), any(), any())).thenReturn(orders);
+        OrderPage orders = OrderPage.builder().orders(Arrays.asList(orderResponse)).nextCursor("next").build();
+        when(orderService.getCustomerOrders(eq(1L), any(), any(), any(), anyInt())).thenReturn(orders);
         
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
-                .andExpect(jsonPath("$.data[0].id").value(1));
+                .andExpect(jsonPath("$.data[0].id").value(1))
+                .andExpect(jsonPath("$.nextCursor").value("next"));
     }
     
     @Test
-    @WithMockUser(username = "admin", roles = {"ADMIN"})
+    @WithMockCustomer(id = 2L, username = "admin", roles = {"ADMIN"})
     void listOrders_AdminCanViewAllOrders() throws Exception {
-        List<OrderResponse> orders = Arrays.asList(orderResponse);
-        when(orderService.getOrdersForCurrentUser(any(String.class), any(), any())).thenReturn(orders);
+        OrderPage orders = OrderPage.builder().orders(Arrays.asList(orderResponse)).nextCursor("next").build();
+        when(orderService.getCustomerOrders(eq(2L), any(), any(), any(), anyInt())).thenReturn(orders);
         
         mockMvc.perform(get("/api/orders"))
                 .andExpect(status().isOk())
@@ -125,13 +130,23 @@ class OrderControllerTest {
     }
     
     @Test
-    @WithMockUser(username = "test.user", roles = {"CUSTOMER"})
+    @WithMockCustomer
     void cancelOrder_Success() throws Exception {
         
         mockMvc.perform(delete("/api/orders/1"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.message").value("Order canceled successfully"));
+        verify(orderService).cancelOrder(1L, 1L);
+    }
+    
+    @Test
+    @WithMockCustomer(id = 2L, username = "admin", roles = {"ADMIN"})
+    void cancelOrder_AdminCancelsAnyOrder() throws Exception {
+        
+        mockMvc.perform(delete("/api/orders/1"))
+                .andExpect(status().isOk());
+        verify(orderService).cancelOrderAsAdmin(1L);
     }
     
     @Test
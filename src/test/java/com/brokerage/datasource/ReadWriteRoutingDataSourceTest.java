@@ -0,0 +1,61 @@
+package com.brokerage.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadWriteRoutingDataSourceTest {
+    
+    private DataSourceRoutingProperties properties;
+    private ReplicaLagMonitor lagMonitor;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = new DriverManagerDataSource("jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1", "sa", "");
+        DriverManagerDataSource replica = new DriverManagerDataSource("jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1", "sa", "");
+        properties = new DataSourceRoutingProperties();
+        lagMonitor = new ReplicaLagMonitor(replica, properties, new SimpleMeterRegistry());
+        
+        LazyConnectionDataSourceProxy dataSource =
+                new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(primary, replica, lagMonitor));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+    
+    @Test
+    void readOnlyTransactions_GoToReplica() {
+        assertEquals("REPLICA", readOnly.execute(status -> currentDatabase()));
+        assertEquals("PRIMARY", readWrite.execute(status -> currentDatabase()));
+        assertEquals("PRIMARY", currentDatabase());
+    }
+    
+    @Test
+    void replicaBeyondStalenessTolerance_FallsBackToPrimary() {
+        properties.setMaxStalenessMs(1000);
+        properties.setLagQuery("SELECT 5000");
+        lagMonitor.check();
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals("PRIMARY", readOnly.execute(status -> currentDatabase()));
+        
+        properties.setLagQuery("SELECT 200");
+        lagMonitor.check();
+        assertEquals("REPLICA", readOnly.execute(status -> currentDatabase()));
+    }
+    
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT DATABASE()", String.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.brokerage.expiry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelTest {
+    
+    @Test
+    void advance_FiresTimersAtTheirTickAcrossLevels() {
+        TimingWheel wheel = new TimingWheel(10, 8, 0);
+        Random random = new Random(42);
+        Map<Long, Long> deadlines = new HashMap<>();
+        for (long id = 0; id < 2000; id++) {
+            long deadline = random.nextInt(100_000);
+            deadlines.put(id, deadline);
+            wheel.add(id, deadline);
+        }
+        
+        Map<Long, Long> firedAt = new HashMap<>();
+        for (long now = 0; now <= 100_000; now += 10) {
+            long tickStart = now;
+            wheel.advance(now, id -> firedAt.put(id, tickStart));
+        }
+        
+        assertEquals(deadlines.size(), firedAt.size());
+        assertEquals(0, wheel.size());
+        deadlines.forEach((id, deadline) -> assertEquals((deadline + 9) / 10 * 10, firedAt.get(id)));
+    }
+    
+    @Test
+    void advance_FiresPastDeadlinesAtOnceAndOthersNotEarly() {
+        TimingWheel wheel = new TimingWheel(100, 64, 10_000);
+        List<Long> fired = new ArrayList<>();
+        
+        wheel.add(1, 5_000);
+        wheel.add(2, 10_050);
+        wheel.add(3, 10_250);
+        wheel.advance(10_050, fired::add);
+        
+        assertEquals(List.of(1L), fired);
+        wheel.advance(10_300, fired::add);
+        assertEquals(List.of(1L, 2L, 3L), fired);
+    }
+}
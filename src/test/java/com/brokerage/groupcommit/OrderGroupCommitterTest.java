@@ -0,0 +1,82 @@
+package com.brokerage.groupcommit;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.enums.OrderSide;
+import com.brokerage.exception.BrokerageException;
+import com.brokerage.service.impl.OrderServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class OrderGroupCommitterTest {
+    
+    private OrderServiceImpl orderService;
+    private OrderGroupCommitter committer;
+    private CreateOrderRequest request;
+    
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderServiceImpl.class);
+        GroupCommitProperties properties = new GroupCommitProperties();
+        properties.setTimeoutMs(200);
+        committer = new OrderGroupCommitter(orderService, properties, new SimpleMeterRegistry());
+        committer.start();
+        
+        request = CreateOrderRequest.builder()
+                .assetName("AAPL")
+                .side(OrderSide.BUY)
+                .size(new BigDecimal("10"))
+                .price(new BigDecimal("150"))
+                .build();
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        committer.stop();
+    }
+    
+    @Test
+    void createOrder_OrderThatTimedOutInTheQueueIsNeverPlaced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> placedKeys = new CopyOnWriteArrayList<>();
+        doAnswer(invocation -> {
+            List<PendingOrder> group = invocation.getArgument(0);
+            group.forEach(pending -> {
+                placedKeys.add(pending.getIdempotencyKey());
+                pending.setResponse(OrderResponse.builder().id(1L).build());
+            });
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(orderService).placeOrderGroup(any());
+        
+        // Outlives its timeout inside the group transaction, so it waits for the real outcome
+        CompletableFuture<OrderResponse> slow = CompletableFuture.supplyAsync(
+                () -> committer.createOrder(request, 1L, "slow"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        
+        BrokerageException ex = assertThrows(BrokerageException.class,
+                () -> committer.createOrder(request, 1L, "queued"));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        
+        release.countDown();
+        assertEquals(1L, slow.get(5, TimeUnit.SECONDS).getId());
+        assertEquals(1L, committer.createOrder(request, 1L, "after").getId());
+        assertEquals(List.of("slow", "after"), placedKeys);
+    }
+}
@@ -0,0 +1,109 @@
+package com.brokerage.idempotency;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.enums.OrderSide;
+import com.brokerage.enums.OrderStatus;
+import com.brokerage.enums.TimeInForce;
+import com.brokerage.exception.BrokerageException;
+import com.brokerage.repository.OrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class IdempotentOrderCacheTest {
+    
+    private OrderRepository orderRepository;
+    private IdempotentOrderCache idempotentOrders;
+    private CreateOrderRequest request;
+    private OrderResponse created;
+    
+    @BeforeEach
+    void setUp() {
+        orderRepository = mock(OrderRepository.class);
+        idempotentOrders = new IdempotentOrderCache(orderRepository, new IdempotencyProperties(), new SimpleMeterRegistry());
+        request = CreateOrderRequest.builder()
+                .assetName("AAPL")
+                .side(OrderSide.BUY)
+                .size(new BigDecimal("10"))
+                .price(new BigDecimal("150"))
+                .build();
+        created = OrderResponse.builder()
+                .id(7L)
+                .customerId(1L)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(new BigDecimal("10.0000"))
+                .price(new BigDecimal("150.0000"))
+                .status(OrderStatus.PENDING)
+                .timeInForce(TimeInForce.GTC)
+                .build();
+    }
+    
+    @Test
+    void createOnce_ReplaysFromMemoryWithoutTouchingTheDatabase() {
+        AtomicInteger creations = new AtomicInteger();
+        
+        OrderResponse first = idempotentOrders.createOnce(request, 1L, "retry-1", () -> {
+            creations.incrementAndGet();
+            return created;
+        });
+        OrderResponse replayed = idempotentOrders.createOnce(request, 1L, "retry-1", () -> {
+            creations.incrementAndGet();
+            return created;
+        });
+        
+        assertSame(first, replayed);
+        assertEquals(1, creations.get());
+        verify(orderRepository, times(1)).findResponseByIdempotencyKey(1L, "retry-1");
+        
+        request.setPrice(new BigDecimal("151"));
+        BrokerageException ex = assertThrows(BrokerageException.class,
+                () -> idempotentOrders.createOnce(request, 1L, "retry-1", () -> created));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, ex.getStatus());
+    }
+    
+    @Test
+    void createOnce_FallsBackToTheUniqueIndex() {
+        when(orderRepository.findResponseByIdempotencyKey(1L, "stored")).thenReturn(Optional.of(created));
+        assertSame(created, idempotentOrders.createOnce(request, 1L, "stored", () -> fail("created twice")));
+        
+        when(orderRepository.findResponseByIdempotencyKey(1L, "raced"))
+                .thenReturn(Optional.empty(), Optional.of(created));
+        OrderResponse winner = idempotentOrders.createOnce(request, 1L, "raced", () -> {
+            throw new DataIntegrityViolationException("uk_customer_idempotency_key");
+        });
+        assertSame(created, winner);
+    }
+    
+    @Test
+    void createOnce_RejectsAKeyReusedWithADifferentExpiry() {
+        LocalDateTime expireAt = LocalDateTime.now().plusDays(1);
+        created.setTimeInForce(TimeInForce.GTD);
+        created.setExpireAt(expireAt);
+        request.setTimeInForce(TimeInForce.GTD);
+        request.setExpireAt(expireAt);
+        idempotentOrders.createOnce(request, 1L, "gtd", () -> created);
+        
+        request.setExpireAt(expireAt.plusHours(1));
+        assertThrows(BrokerageException.class, () -> idempotentOrders.createOnce(request, 1L, "gtd", () -> created));
+        
+        request.setTimeInForce(TimeInForce.DAY);
+        request.setExpireAt(null);
+        assertThrows(BrokerageException.class, () -> idempotentOrders.createOnce(request, 1L, "gtd", () -> created));
+        
+        request.setTimeInForce(TimeInForce.GTD);
+        request.setExpireAt(expireAt);
+        assertSame(created, idempotentOrders.createOnce(request, 1L, "gtd", () -> fail("created twice")));
+    }
+}
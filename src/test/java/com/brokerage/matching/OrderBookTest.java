@@ -0,0 +1,120 @@
+package com.brokerage.matching;
+
+import com.brokerage.enums.OrderSide;
+import com.brokerage.money.Money;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderBookTest {
+    
+    private OrderBook orderBook;
+    
+    @BeforeEach
+    void setUp() {
+        orderBook = new OrderBook("AAPL");
+    }
+    
+    @Test
+    void match_NonCrossingOrderRests() {
+        orderBook.add(order(1L, OrderSide.SELL, "151", "10"));
+        
+        List<Fill> fills = orderBook.match(order(2L, OrderSide.BUY, "150", "10")).fills();
+        
+        assertTrue(fills.isEmpty());
+        assertTrue(orderBook.contains(2L));
+        assertEquals(Money.of("150"), orderBook.bestBid().orElseThrow());
+        assertEquals(Money.of("151"), orderBook.bestAsk().orElseThrow());
+    }
+    
+    @Test
+    void match_BestPriceThenEarliestOrderFirst() {
+        orderBook.add(order(1L, OrderSide.SELL, "150", "5"));
+        orderBook.add(order(2L, OrderSide.SELL, "149", "5"));
+        orderBook.add(order(3L, OrderSide.SELL, "149", "5"));
+        
+        List<Fill> fills = orderBook.match(order(4L, OrderSide.BUY, "150", "12")).fills();
+        
+        assertEquals(3, fills.size());
+        assertEquals(2L, fills.get(0).getRestingOrderId());
+        assertEquals(Money.of("149"), fills.get(0).getPrice());
+        assertEquals(3L, fills.get(1).getRestingOrderId());
+        assertEquals(1L, fills.get(2).getRestingOrderId());
+        assertEquals(Money.of("150"), fills.get(2).getPrice());
+        assertEquals(Money.of("2"), fills.get(2).getSize());
+        
+        assertFalse(orderBook.contains(4L));
+        assertTrue(orderBook.contains(1L));
+        assertEquals(1, orderBook.size());
+    }
+    
+    @Test
+    void match_PartialFillRestsRemainder() {
+        orderBook.add(order(1L, OrderSide.BUY, "150", "4"));
+        
+        BookOrder incoming = order(2L, OrderSide.SELL, "148", "10");
+        List<Fill> fills = orderBook.match(incoming).fills();
+        
+        assertEquals(1, fills.size());
+        assertEquals(Money.of("150"), fills.get(0).getPrice());
+        assertEquals(Money.of("6"), incoming.getRemainingSize());
+        assertTrue(orderBook.bestBid().isEmpty());
+        assertEquals(Money.of("148"), orderBook.bestAsk().orElseThrow());
+    }
+    
+    @Test
+    void remove_DropsEmptyPriceLevel() {
+        orderBook.add(order(1L, OrderSide.BUY, "150", "4"));
+        
+        assertTrue(orderBook.remove(1L));
+        assertFalse(orderBook.remove(1L));
+        assertTrue(orderBook.bestBid().isEmpty());
+        assertTrue(orderBook.match(order(2L, OrderSide.SELL, "100", "1")).fills().isEmpty());
+    }
+    
+    @Test
+    void rollback_RestoresFilledAndRemovedOrdersInTimePriority() {
+        orderBook.add(order(1L, OrderSide.SELL, "150", "5"));
+        orderBook.add(order(2L, OrderSide.SELL, "150", "5"));
+        orderBook.add(order(3L, OrderSide.SELL, "151", "5"));
+        orderBook.commit();
+        
+        orderBook.match(order(4L, OrderSide.BUY, "150", "7"));
+        orderBook.remove(3L);
+        orderBook.rollback();
+        
+        assertEquals(3, orderBook.size());
+        assertFalse(orderBook.contains(4L));
+        List<Fill> fills = orderBook.match(order(5L, OrderSide.BUY, "151", "15")).fills();
+        assertEquals(List.of(1L, 2L, 3L), fills.stream().map(Fill::getRestingOrderId).toList());
+        assertEquals(Money.of("5"), fills.get(1).getSize());
+    }
+    
+    @Test
+    void match_CancelsRemainderInsteadOfTradingWithTheSameCustomer() {
+        orderBook.add(order(1L, 8L, OrderSide.SELL, "149", "5"));
+        orderBook.add(order(2L, 7L, OrderSide.SELL, "150", "5"));
+        orderBook.add(order(3L, 8L, OrderSide.SELL, "150", "5"));
+        
+        MatchResult result = orderBook.match(order(4L, 7L, OrderSide.BUY, "150", "12"));
+        
+        assertEquals(List.of(1L), result.fills().stream().map(Fill::getRestingOrderId).toList());
+        assertTrue(result.remainderCanceled());
+        assertFalse(orderBook.contains(4L));
+        assertTrue(orderBook.contains(2L));
+        assertTrue(orderBook.contains(3L));
+        assertTrue(orderBook.bestBid().isEmpty());
+        assertEquals(Money.of("150"), orderBook.bestAsk().orElseThrow());
+    }
+    
+    private BookOrder order(Long id, OrderSide side, String price, String size) {
+        return order(id, id, side, price, size);
+    }
+    
+    private BookOrder order(Long id, Long customerId, OrderSide side, String price, String size) {
+        return new BookOrder(id, customerId, side, Money.of(price), Money.of(size));
+    }
+}
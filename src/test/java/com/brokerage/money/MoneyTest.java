@@ -0,0 +1,43 @@
+package com.brokerage.money;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+    
+    @Test
+    void of_RoundTripsFourDecimalPlaces() {
+        assertEquals(1_234_567L, Money.of("123.4567"));
+        assertEquals(new BigDecimal("123.4567"), Money.toBigDecimal(Money.of("123.4567")));
+        assertEquals("-0.0001", Money.toString(Money.of("-0.0001")));
+    }
+    
+    @Test
+    void of_RejectsExtraPrecisionAndOutOfRange() {
+        assertThrows(ArithmeticException.class, () -> Money.of("0.00001"));
+        assertThrows(ArithmeticException.class, () -> Money.of("1000000000000000"));
+    }
+    
+    @Test
+    void multiply_RoundsHalfUpToScale() {
+        assertEquals(Money.of("1500"), Money.multiply(Money.of("150"), Money.of("10")));
+        assertEquals(Money.of("0.0002"), Money.multiply(Money.of("0.0015"), Money.of("0.1")));
+        assertEquals(Money.of("-0.0002"), Money.multiply(Money.of("-0.0015"), Money.of("0.1")));
+        assertEquals(Money.of("0.0001"), Money.multiply(Money.of("0.0149"), Money.of("0.01")));
+    }
+    
+    @Test
+    void multiply_FallsBackWhenIntermediateProductOverflows() {
+        assertEquals(Money.of("10000000000000"), Money.multiply(Money.of("10000000"), Money.of("1000000")));
+        assertThrows(ArithmeticException.class, () -> Money.multiply(Money.of("100000000000"), Money.of("100000000000")));
+    }
+    
+    @Test
+    void add_ThrowsOnOverflow() {
+        assertThrows(ArithmeticException.class, () -> Money.add(Long.MAX_VALUE, Money.ONE));
+        assertThrows(ArithmeticException.class, () -> Money.subtract(Long.MIN_VALUE, Money.ONE));
+    }
+}
@@ -0,0 +1,77 @@
+package com.brokerage.ratelimit;
+
+import com.brokerage.enums.RateLimitBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerRateLimiterTest {
+    
+    private RateLimitProperties properties;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setCreateCapacity(2);
+        properties.setCreatePerSecond(1);
+    }
+    
+    @Test
+    void tryAcquire_KeepsSeparateBudgetsPerCustomer() {
+        CustomerRateLimiter rateLimiter = new CustomerRateLimiter(properties);
+        
+        assertEquals(0, rateLimiter.tryAcquire(1L, RateLimitBudget.CREATE));
+        assertEquals(0, rateLimiter.tryAcquire(1L, RateLimitBudget.CREATE));
+        long waitNanos = rateLimiter.tryAcquire(1L, RateLimitBudget.CREATE);
+        
+        assertTrue(waitNanos > 0 && waitNanos <= TimeUnit.SECONDS.toNanos(1), "waitNanos=" + waitNanos);
+        assertEquals(0, rateLimiter.tryAcquire(1L, RateLimitBudget.CANCEL));
+        assertEquals(0, rateLimiter.tryAcquire(2L, RateLimitBudget.CREATE));
+    }
+    
+    @Test
+    void tryAcquire_ChargesEveryPermitOfALargeRequest() {
+        CustomerRateLimiter rateLimiter = new CustomerRateLimiter(properties);
+        
+        assertEquals(0, rateLimiter.tryAcquire(1L, RateLimitBudget.CREATE, 5));
+        long waitNanos = rateLimiter.tryAcquire(1L, RateLimitBudget.CREATE);
+        
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(3), "waitNanos=" + waitNanos);
+    }
+    
+    @Test
+    void tryAcquire_GrantsExactlyCapacityUnderContention() throws Exception {
+        properties.setCreateCapacity(100);
+        properties.setCreatePerSecond(0.001);
+        CustomerRateLimiter rateLimiter = new CustomerRateLimiter(properties);
+        AtomicInteger granted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        
+        List<Future<?>> futures = new ArrayList<>();
+        for (int thread = 0; thread < 8; thread++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (rateLimiter.tryAcquire(1L, RateLimitBudget.CREATE) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        
+        assertEquals(100, granted.get());
+    }
+}
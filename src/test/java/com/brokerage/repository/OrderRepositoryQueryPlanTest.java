@@ -0,0 +1,166 @@
+package com.brokerage.repository;
+
+import com.brokerage.dto.request.ListOrdersRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.enums.OrderStatus;
+import com.brokerage.pagination.OrderCursor;
+import com.brokerage.repository.specification.OrderSpecifications;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the indexes behind the order listings: each filter combination is run through the same
+ * specification the service uses, and H2's plan for the generated SQL must use the expected index.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.brokerage.repository.OrderRepositoryQueryPlanTest$LastStatement"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderRepositoryQueryPlanTest {
+    
+    private static final int CUSTOMERS = 200;
+    private static final int ORDERS = 20_000;
+    private static final String[] ASSETS = {"AAPL", "MSFT", "GOOG", "AMZN", "TSLA", "NVDA", "META", "NFLX"};
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    private static final List<Object[]> orders = new ArrayList<>();
+    
+    // Seeded once and committed; ANALYZE commits anyway and the statistics are what the planner needs
+    @BeforeEach
+    void seed() {
+        if (!orders.isEmpty()) {
+            return;
+        }
+        
+        List<Object[]> customers = new ArrayList<>();
+        for (long id = 1; id <= CUSTOMERS; id++) {
+            customers.add(new Object[]{id, "user" + id, "x", "user" + id + "@example.com", "User " + id});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customers (id, username, password, email, full_name, active) " +
+                "VALUES (?, ?, ?, ?, ?, TRUE)", customers);
+        
+        Random random = new Random(7);
+        for (long id = 1; id <= ORDERS; id++) {
+            int roll = random.nextInt(10);
+            OrderStatus status = roll == 0 ? OrderStatus.PENDING : roll < 7 ? OrderStatus.MATCHED : OrderStatus.CANCELED;
+            orders.add(new Object[]{id, 1 + random.nextInt(CUSTOMERS), ASSETS[random.nextInt(ASSETS.length)],
+                    status.name(), Timestamp.valueOf(START.plusMinutes(random.nextInt(365 * 24 * 60)))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO orders (id, customer_id, asset_name, order_side, size, price, " +
+                "filled_size, status, time_in_force, create_date, version) " +
+                "VALUES (?, ?, ?, 'BUY', 1, 1, 0, ?, 'GTC', ?, 0)", orders);
+        jdbcTemplate.execute("ANALYZE");
+    }
+    
+    @Test
+    void customerDateRange_UsesCustomerCreateDateIndex() {
+        ListOrdersRequest request = ListOrdersRequest.builder()
+                .customerId(42L)
+                .startDate(START.plusDays(30))
+                .endDate(START.plusDays(120))
+                .build();
+        
+        assertPlanUses(request, "IDX_CUSTOMER_CREATE_DATE");
+        assertMatchesFullScan(request);
+    }
+    
+    @Test
+    void statusAndAsset_UsesStatusAssetCreateDateIndex() {
+        ListOrdersRequest request = ListOrdersRequest.builder()
+                .status(OrderStatus.PENDING)
+                .assetName("TSLA")
+                .build();
+        
+        assertPlanUses(request, "IDX_STATUS_ASSET_CREATE_DATE");
+        assertMatchesFullScan(request);
+    }
+    
+    @Test
+    void unfilteredPages_ReadCreateDateIndexInOrder() {
+        ListOrdersRequest request = ListOrdersRequest.builder().build();
+        assertTrue(assertPlanUses(request, "IDX_CREATE_DATE").contains("index sorted"));
+        
+        request.setCursor(new OrderCursor(START.plusDays(200), 10_000L).encode());
+        assertTrue(assertPlanUses(request, "IDX_CREATE_DATE").contains("index sorted"));
+    }
+    
+    private String assertPlanUses(ListOrdersRequest request, String index) {
+        fetch(request);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + LastStatement.sql, String.class);
+        assertNotNull(plan);
+        assertTrue(plan.contains("PUBLIC." + index), () -> "Expected " + index + " in plan:\n" + plan);
+        return plan;
+    }
+    
+    // Pages through the filtered listing and compares it to filtering the seeded rows in memory
+    private void assertMatchesFullScan(ListOrdersRequest request) {
+        List<Long> expected = orders.stream()
+                .filter(row -> request.getCustomerId() == null || ((Integer) row[1]).longValue() == request.getCustomerId())
+                .filter(row -> request.getAssetName() == null || row[2].equals(request.getAssetName()))
+                .filter(row -> request.getStatus() == null || row[3].equals(request.getStatus().name()))
+                .filter(row -> request.getStartDate() == null
+                        || !((Timestamp) row[4]).toLocalDateTime().isBefore(request.getStartDate()))
+                .filter(row -> request.getEndDate() == null
+                        || !((Timestamp) row[4]).toLocalDateTime().isAfter(request.getEndDate()))
+                .sorted(Comparator.<Object[], Timestamp>comparing(row -> (Timestamp) row[4])
+                        .thenComparing(row -> (Long) row[0]).reversed())
+                .map(row -> (Long) row[0])
+                .toList();
+        
+        List<Long> actual = new ArrayList<>();
+        request.setSize(25);
+        List<OrderResponse> page = fetch(request);
+        while (!page.isEmpty()) {
+            page.stream().limit(25).map(OrderResponse::getId).forEach(actual::add);
+            if (page.size() <= 25) {
+                break;
+            }
+            OrderResponse last = page.get(24);
+            request.setCursor(new OrderCursor(last.getCreateDate(), last.getId()).encode());
+            page = fetch(request);
+        }
+        
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, actual);
+    }
+    
+    private List<OrderResponse> fetch(ListOrdersRequest request) {
+        return orderRepository.findResponses(OrderSpecifications.matching(request), request.getSize() + 1);
+    }
+    
+    public static class LastStatement implements StatementInspector {
+        
+        static volatile String sql;
+        
+        @Override
+        public String inspect(String statement) {
+            if (statement.contains("from orders")) {
+                sql = statement;
+            }
+            return statement;
+        }
+    }
+}
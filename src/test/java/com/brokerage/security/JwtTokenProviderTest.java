@@ -0,0 +1,67 @@
+package com.brokerage.security;
+
+import com.brokerage.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class JwtTokenProviderTest {
+    
+    private JwtTokenProvider tokenProvider;
+    private TokenRevocationList revocationList;
+    private VerifiedTokenCache verifiedTokens;
+    private UserDetails userDetails;
+    
+    @BeforeEach
+    void setUp() {
+        JwtProperties properties = new JwtProperties();
+        revocationList = new TokenRevocationList(properties, mock(CustomerRepository.class));
+        verifiedTokens = new VerifiedTokenCache(properties);
+        tokenProvider = new JwtTokenProvider(properties, revocationList, verifiedTokens);
+        userDetails = User.withUsername("admin").password("x").authorities("ROLE_ADMIN").build();
+    }
+    
+    @Test
+    void resolvePrincipal_BuildsPrincipalFromClaims() {
+        String token = tokenProvider.generateToken(7L, userDetails);
+        
+        CustomerPrincipal principal = tokenProvider.resolvePrincipal(token).orElseThrow();
+        
+        assertEquals(new CustomerPrincipal(7L, "admin", List.of("ROLE_ADMIN")), principal);
+        assertTrue(principal.isAdmin());
+        assertTrue(tokenProvider.resolvePrincipal(token + "x").isEmpty());
+    }
+    
+    @Test
+    void resolvePrincipal_CachesOnlyVerifiedTokens() {
+        String token = tokenProvider.generateToken(7L, userDetails);
+        
+        tokenProvider.resolvePrincipal(token);
+        tokenProvider.resolvePrincipal(token);
+        tokenProvider.resolvePrincipal(token + "x");
+        
+        assertEquals(1, verifiedTokens.size());
+        assertEquals(7L, tokenProvider.resolvePrincipal(token).orElseThrow().customerId());
+    }
+    
+    @Test
+    void resolvePrincipal_RejectsRevokedTokens() throws InterruptedException {
+        String token = tokenProvider.generateToken(7L, userDetails);
+        assertTrue(tokenProvider.resolvePrincipal(token).isPresent());
+        Thread.sleep(1000);
+        
+        revocationList.revokeAll(7L, LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        
+        assertTrue(tokenProvider.resolvePrincipal(token).isEmpty());
+        assertTrue(tokenProvider.resolvePrincipal(tokenProvider.generateToken(7L, userDetails)).isPresent());
+        assertTrue(tokenProvider.resolvePrincipal(tokenProvider.generateToken(8L, userDetails)).isPresent());
+    }
+}
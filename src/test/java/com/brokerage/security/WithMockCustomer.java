@@ -0,0 +1,23 @@
+package com.brokerage.security;
+
+import org.springframework.security.test.context.support.WithSecurityContext;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a test as a {@link CustomerPrincipal}, the principal the JWT filter puts in the security context.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@WithSecurityContext(factory = WithMockCustomerSecurityContextFactory.class)
+public @interface WithMockCustomer {
+    
+    long id() default 1L;
+    
+    String username() default "test.user";
+    
+    String[] roles() default {"CUSTOMER"};
+}
@@ -0,0 +1,20 @@
+package com.brokerage.security;
+
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithSecurityContextFactory;
+
+import java.util.Arrays;
+
+public class WithMockCustomerSecurityContextFactory implements WithSecurityContextFactory<WithMockCustomer> {
+    
+    @Override
+    public SecurityContext createSecurityContext(WithMockCustomer customer) {
+        CustomerPrincipal principal = new CustomerPrincipal(customer.id(), customer.username(),
+                Arrays.stream(customer.roles()).map(role -> "ROLE_" + role).toList());
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, principal.authorities()));
+        return context;
+    }
+}
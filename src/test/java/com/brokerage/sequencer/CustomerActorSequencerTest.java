@@ -0,0 +1,95 @@
+package com.brokerage.sequencer;
+
+import com.brokerage.concurrency.ConcurrencyProperties;
+import com.brokerage.concurrency.OptimisticTransactionExecutor;
+import com.brokerage.enums.SequencerStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CustomerActorSequencerTest {
+    
+    private CustomerActorSequencer sequencer;
+    
+    @BeforeEach
+    void setUp() {
+        SequencerProperties properties = new SequencerProperties();
+        properties.setStrategy(SequencerStrategy.ACTOR);
+        properties.setActorThreads(4);
+        properties.setActorThroughput(2);
+        
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OptimisticTransactionExecutor executor =
+                new OptimisticTransactionExecutor(new ConcurrencyProperties(), transactionManager, meterRegistry);
+        
+        sequencer = new CustomerActorSequencer(properties, executor, meterRegistry);
+        sequencer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sequencer.stop();
+    }
+    
+    @Test
+    void execute_NeverRunsTwoCommandsOfTheSameCustomerAtOnce() throws Exception {
+        Map<Long, AtomicInteger> running = new ConcurrentHashMap<>();
+        Map<Long, AtomicInteger> applied = new ConcurrentHashMap<>();
+        AtomicInteger overlaps = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(12);
+        
+        List<Future<?>> results = new ArrayList<>();
+        for (long customerId = 1; customerId <= 4; customerId++) {
+            Long customer = customerId;
+            running.put(customer, new AtomicInteger());
+            applied.put(customer, new AtomicInteger());
+            for (int caller = 0; caller < 3; caller++) {
+                results.add(callers.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        sequencer.execute("test", customer, () -> {
+                            if (running.get(customer).incrementAndGet() > 1) {
+                                overlaps.incrementAndGet();
+                            }
+                            Thread.yield();
+                            applied.get(customer).incrementAndGet();
+                            running.get(customer).decrementAndGet();
+                        });
+                    }
+                }));
+            }
+        }
+        for (Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        callers.shutdown();
+        
+        assertEquals(0, overlaps.get());
+        applied.values().forEach(count -> assertEquals(150, count.get()));
+    }
+    
+    @Test
+    void execute_PropagatesCommandFailure() {
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+                () -> sequencer.execute("test", 1L, () -> {
+                    throw new IllegalStateException("boom");
+                }));
+        
+        assertEquals("boom", ex.getMessage());
+    }
+}
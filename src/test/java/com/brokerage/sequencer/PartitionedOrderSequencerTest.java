@@ -0,0 +1,121 @@
+package com.brokerage.sequencer;
+
+import com.brokerage.concurrency.ConcurrencyProperties;
+import com.brokerage.concurrency.OptimisticTransactionExecutor;
+import com.brokerage.exception.BrokerageException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PartitionedOrderSequencerTest {
+    
+    private SequencerProperties properties;
+    private PartitionedOrderSequencer sequencer;
+    
+    @BeforeEach
+    void setUp() {
+        properties = new SequencerProperties();
+        properties.setPartitions(2);
+        properties.setQueueCapacity(100);
+        properties.setTimeoutMs(200);
+        
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        OptimisticTransactionExecutor executor = new OptimisticTransactionExecutor(
+                new ConcurrencyProperties(), transactionManager, new SimpleMeterRegistry());
+        
+        sequencer = new PartitionedOrderSequencer(properties, executor);
+        sequencer.start();
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        sequencer.stop();
+    }
+    
+    @Test
+    void enqueue_RunsCommandsOfAPartitionInSubmissionOrderOnOneThread() throws InterruptedException {
+        List<String> applied = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(40);
+        for (int i = 0; i < 20; i++) {
+            // Customers 1 and 3 share a partition when there are two
+            for (long customerId : new long[]{1L, 3L}) {
+                String command = customerId + ":" + i;
+                assertTrue(sequencer.enqueue(customerId, () -> {
+                    applied.add(command + "@" + Thread.currentThread().getName());
+                    done.countDown();
+                }));
+            }
+        }
+        
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            expected.add("1:" + i + "@order-sequencer-1");
+            expected.add("3:" + i + "@order-sequencer-1");
+        }
+        assertEquals(expected, applied);
+    }
+    
+    @Test
+    void execute_RejectsWhenThePartitionQueueIsFull() throws InterruptedException {
+        CountDownLatch release = blockPartitionOf(1L);
+        try {
+            while (sequencer.enqueue(1L, () -> { })) {
+                // fill the partition queue
+            }
+            
+            BrokerageException ex = assertThrows(BrokerageException.class,
+                    () -> sequencer.execute("test", 1L, () -> "placed"));
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        } finally {
+            release.countDown();
+        }
+    }
+    
+    @Test
+    void execute_CommandThatTimedOutInTheQueueIsNeverApplied() throws InterruptedException {
+        AtomicInteger applied = new AtomicInteger();
+        CountDownLatch release = blockPartitionOf(1L);
+        
+        BrokerageException ex = assertThrows(BrokerageException.class,
+                () -> sequencer.execute("test", 1L, applied::incrementAndGet));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+        
+        release.countDown();
+        assertEquals("drained", sequencer.execute("test", 1L, () -> "drained"));
+        assertEquals(0, applied.get());
+    }
+    
+    // Occupies the partition's writer until the returned latch is released
+    private CountDownLatch blockPartitionOf(Long customerId) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        assertTrue(sequencer.enqueue(customerId, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+}
@@ -0,0 +1,89 @@
+package com.brokerage.service;
+
+import com.brokerage.entity.Customer;
+import com.brokerage.repository.CustomerRepository;
+import com.brokerage.security.JwtProperties;
+import com.brokerage.security.TokenRevocationList;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class CustomerCacheTest {
+    
+    @Autowired
+    private CustomerServiceInterface customerService;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    
+    @Autowired
+    private JwtProperties jwtProperties;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        customerService.getCustomerByUsername("testuser");
+        customerService.getCustomerByUsername("admin");
+        statistics.clear();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        statistics.setStatisticsEnabled(false);
+    }
+    
+    @Test
+    void getCustomerByUsername_ServedFromCacheWithoutQueries() {
+        Customer customer = customerService.getCustomerByUsername("testuser");
+        
+        assertTrue(customerService.getCustomerByUsername("admin").getRoles().contains("ROLE_ADMIN"));
+        assertTrue(customerService.getCustomerByUsername("admin").getRoles().contains("ROLE_ADMIN"));
+        assertEquals(customer.getId(), customerService.getCustomerById(customer.getId()).getId());
+        assertTrue(customer.getRoles().contains("ROLE_CUSTOMER"));
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+    
+    @Test
+    void updateRoles_ReplacesCachedRolesAndRevokesIssuedTokens() {
+        Customer customer = customerService.getCustomerByUsername("testuser");
+        Date issuedBefore = Date.from(Instant.now().minusSeconds(5));
+        assertFalse(tokenRevocationList.isRevoked(customer.getId(), issuedBefore));
+        
+        try {
+            customerService.updateRoles(customer.getId(), Set.of("ROLE_CUSTOMER", "ROLE_ADMIN"));
+            
+            assertTrue(customerService.getCustomerByUsername("testuser").getRoles().contains("ROLE_ADMIN"));
+            assertTrue(tokenRevocationList.isRevoked(customer.getId(), issuedBefore));
+            
+            // A node that starts later, or never saw the change, reads the cutoff from the database
+            TokenRevocationList otherNode = new TokenRevocationList(jwtProperties, customerRepository);
+            otherNode.start();
+            otherNode.stop();
+            assertTrue(otherNode.isRevoked(customer.getId(), issuedBefore));
+        } finally {
+            customerService.updateRoles(customer.getId(), Set.of("ROLE_CUSTOMER"));
+        }
+        assertFalse(customerService.getCustomerByUsername("testuser").getRoles().contains("ROLE_ADMIN"));
+    }
+}
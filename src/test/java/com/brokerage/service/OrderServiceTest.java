@@ -1,24 +1,43 @@
 package com.brokerage.service;
 
+import com.brokerage.dto.request.BatchCreateOrderRequest;
+import com.brokerage.dto.request.BatchMatchOrderRequest;
 import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.request.ListOrdersRequest;
+import com.brokerage.dto.response.BatchMatchResponse;
+import com.brokerage.dto.response.OrderPage;
 import com.brokerage.dto.response.OrderResponse;
-import com.brokerage.entity.Asset;
 import com.brokerage.entity.Customer;
 import com.brokerage.entity.Order;
 import com.brokerage.enums.OrderSide;
 import com.brokerage.enums.OrderStatus;
+import com.brokerage.exception.BrokerageException;
 import com.brokerage.exception.InsufficientBalanceException;
+import com.brokerage.expiry.OrderExpiryScheduler;
+import com.brokerage.groupcommit.PendingOrder;
 import com.brokerage.mapper.OrderMapper;
+import com.brokerage.matching.Fill;
+import com.brokerage.matching.MatchResult;
+import com.brokerage.matching.MatchingEngine;
+import com.brokerage.money.Money;
+import com.brokerage.pagination.OrderCursor;
 import com.brokerage.repository.OrderRepository;
+import com.brokerage.repository.projection.OrderStateView;
+import com.brokerage.service.impl.OrderRequestValidator;
 import com.brokerage.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,12 +59,19 @@ class OrderServiceTest {
     @Mock
     private OrderMapper orderMapper;
     
+    @Mock
+    private MatchingEngine matchingEngine;
+    
+    @Mock
+    private OrderExpiryScheduler expiryScheduler;
+    
+    @Spy
+    private OrderRequestValidator orderRequestValidator = new OrderRequestValidator();
+    
     @InjectMocks
     private OrderServiceImpl orderService;
     
     private Customer testCustomer;
-    private Asset tryAsset;
-    private Asset stockAsset;
     private CreateOrderRequest buyRequest;
     private CreateOrderRequest sellRequest;
     private Order testOrder;
@@ -59,22 +85,6 @@ class OrderServiceTest {
                 .fullName("Test User")
                 .build();
         
-        tryAsset = Asset.builder()
-                .id(1L)
-                .customer(testCustomer)
-                .assetName("TRY")
-                .size(new BigDecimal("10000"))
-                .usableSize(new BigDecimal("10000"))
-                .build();
-        
-        stockAsset = Asset.builder()
-                .id(2L)
-                .customer(testCustomer)
-                .assetName("AAPL")
-                .size(new BigDecimal("100"))
-                .usableSize(new BigDecimal("100"))
-                .build();
-        
         buyRequest = CreateOrderRequest.builder()
                 .assetName("AAPL")
                 .side(OrderSide.BUY)
@@ -94,16 +104,19 @@ class OrderServiceTest {
                 .customer(testCustomer)
                 .assetName("AAPL")
                 .orderSide(OrderSide.BUY)
-                .size(new BigDecimal("10"))
-                .price(new BigDecimal("150"))
+                .size(Money.of("10"))
+                .price(Money.of("150"))
                 .status(OrderStatus.PENDING)
+                .version(0L)
                 .build();
+        
+        lenient().when(matchingEngine.submit(any(Order.class))).thenReturn(new MatchResult(List.of(), false));
     }
     
     @Test
     void createBuyOrder_Success() {
-        when(customerService.getCustomerByUsername("test.user")).thenReturn(testCustomer);
-        when(assetService.getAssetWithLock(testCustomer, "TRY")).thenReturn(tryAsset);
+        when(customerService.getCustomerReference(1L)).thenReturn(testCustomer);
+        when(assetService.blockAsset(1L, "TRY", Money.of("1500"))).thenReturn(true);
         when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenReturn(testOrder);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
         when(orderMapper.toResponse(testOrder)).thenReturn(OrderResponse.builder()
@@ -116,27 +129,153 @@ class OrderServiceTest {
                 .status(OrderStatus.PENDING)
                 .build());
         
-        OrderResponse response = orderService.createOrder(buyRequest, "test.user");
+        OrderResponse response = orderService.createOrder(buyRequest, 1L);
         
         assertNotNull(response);
         assertEquals(1L, response.getId());
         assertEquals("AAPL", response.getAssetName());
         assertEquals(OrderSide.BUY, response.getOrderSide());
         
-        verify(assetService).blockAsset(tryAsset, new BigDecimal("1500"));
+        verify(assetService).blockAsset(1L, "TRY", Money.of("1500"));
         verify(orderRepository).save(any(Order.class));
     }
     
     @Test
-    void createBuyOrder_InsufficientBalance() {
-        tryAsset.setUsableSize(new BigDecimal("1000"));
+    void createBuyOrder_FillsAgainstRestingSellAtRestingPrice() {
+        Customer seller = Customer.builder().id(2L).username("seller").build();
+        Order restingSell = Order.builder()
+                .id(2L)
+                .customer(seller)
+                .assetName("AAPL")
+                .orderSide(OrderSide.SELL)
+                .size(Money.of("10"))
+                .price(Money.of("140"))
+                .status(OrderStatus.PENDING)
+                .version(0L)
+                .build();
+        
+        when(customerService.getCustomerReference(1L)).thenReturn(testCustomer);
+        when(assetService.blockAsset(1L, "TRY", Money.of("1500"))).thenReturn(true);
+        when(assetService.withdrawFromAsset(1L, "TRY", Money.of("1400"))).thenReturn(true);
+        when(assetService.withdrawFromAsset(2L, "AAPL", Money.of("10"))).thenReturn(true);
+        when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenReturn(testOrder);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(orderRepository.findStateById(2L)).thenReturn(Optional.of(stateOf(restingSell)));
+        when(orderRepository.addFill(2L, Money.of("10"))).thenReturn(1);
+        when(matchingEngine.submit(testOrder)).thenReturn(
+                new MatchResult(List.of(new Fill(1L, 2L, Money.of("140"), Money.of("10"))), false));
+        
+        orderService.createOrder(buyRequest, 1L);
+        
+        assertEquals(OrderStatus.MATCHED, testOrder.getStatus());
+        verify(orderRepository).addFill(2L, Money.of("10"));
+        verify(assetService).unblockAsset(1L, "TRY", Money.of("100"));
+        verify(assetService).depositToAsset(1L, "AAPL", Money.of("10"));
+        verify(assetService).depositToAsset(2L, "TRY", Money.of("1400"));
+    }
+    
+    @Test
+    void createOrder_SelfTradeCancelsOrderAndReleasesReservation() {
+        when(customerService.getCustomerReference(1L)).thenReturn(testCustomer);
+        when(assetService.blockAsset(1L, "TRY", Money.of("1500"))).thenReturn(true);
+        when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenReturn(testOrder);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(matchingEngine.submit(testOrder)).thenReturn(new MatchResult(List.of(), true));
+        
+        orderService.createOrder(buyRequest, 1L);
+        
+        assertEquals(OrderStatus.CANCELED, testOrder.getStatus());
+        verify(assetService).unblockAsset(1L, "TRY", Money.of("1500"));
+        verify(expiryScheduler, never()).schedule(anyLong(), any());
+    }
+    
+    @Test
+    void createOrders_ReservesEachAssetOnce() {
+        when(customerService.getCustomerReference(1L)).thenReturn(testCustomer);
+        when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenAnswer(invocation -> {
+            CreateOrderRequest request = invocation.getArgument(0);
+            return Order.builder()
+                    .assetName(request.getAssetName())
+                    .orderSide(request.getSide())
+                    .size(Money.of(request.getSize()))
+                    .price(Money.of(request.getPrice()))
+                    .build();
+        });
+        when(assetService.blockAsset(1L, "TRY", Money.of("1700"))).thenReturn(true);
+        when(assetService.blockAsset(1L, "AAPL", Money.of("10"))).thenReturn(true);
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        
+        orderService.createOrders(BatchCreateOrderRequest.builder()
+                .orders(List.of(
+                        buyRequest,
+                        CreateOrderRequest.builder().assetName("MSFT").side(OrderSide.BUY)
+                                .size(new BigDecimal("2")).price(new BigDecimal("100")).build(),
+                        sellRequest))
+                .build(), 1L);
+        
+        verify(matchingEngine).lockBook("AAPL");
+        verify(matchingEngine).lockBook("MSFT");
+        verify(assetService, times(2)).blockAsset(anyLong(), anyString(), anyLong());
+        verify(orderRepository, times(3)).save(any(Order.class));
+        verify(matchingEngine, times(3)).submit(any(Order.class));
+    }
+    
+    @Test
+    void createOrders_InsufficientBalanceRejectsWholeBatch() {
+        when(customerService.getCustomerReference(1L)).thenReturn(testCustomer);
+        when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenReturn(testOrder);
+        when(assetService.blockAsset(1L, "TRY", Money.of("3000"))).thenReturn(false);
+        
+        assertThrows(InsufficientBalanceException.class, () -> orderService.createOrders(
+                BatchCreateOrderRequest.builder().orders(List.of(buyRequest, buyRequest)).build(), 1L));
+        
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+    
+    @Test
+    void placeOrderGroup_RejectsOnlyOrdersTheBalanceCannotCover() {
+        Customer otherCustomer = Customer.builder().id(2L).username("other.user").build();
+        when(customerService.getCustomerReference(1L)).thenReturn(testCustomer);
+        when(customerService.getCustomerReference(2L)).thenReturn(otherCustomer);
+        when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenAnswer(invocation -> {
+            CreateOrderRequest request = invocation.getArgument(0);
+            return Order.builder()
+                    .assetName(request.getAssetName())
+                    .orderSide(request.getSide())
+                    .size(Money.of(request.getSize()))
+                    .price(Money.of(request.getPrice()))
+                    .build();
+        });
+        when(assetService.blockAsset(1L, "TRY", Money.of("3000"))).thenReturn(false);
+        when(assetService.blockAsset(1L, "TRY", Money.of("1500"))).thenReturn(true, false);
+        when(assetService.blockAsset(2L, "AAPL", Money.of("10"))).thenReturn(true);
+        
+        PendingOrder firstBuy = new PendingOrder(buyRequest, 1L, null);
+        PendingOrder secondBuy = new PendingOrder(buyRequest, 1L, null);
+        PendingOrder tryBuy = new PendingOrder(CreateOrderRequest.builder().assetName("TRY").side(OrderSide.BUY)
+                .size(new BigDecimal("1")).price(new BigDecimal("1")).build(), 1L, null);
+        PendingOrder sell = new PendingOrder(sellRequest, 2L, null);
         
-        when(customerService.getCustomerByUsername("test.user")).thenReturn(testCustomer);
-        when(assetService.getAssetWithLock(testCustomer, "TRY")).thenReturn(tryAsset);
+        orderService.placeOrderGroup(List.of(firstBuy, secondBuy, tryBuy, sell));
+        
+        assertNull(firstBuy.getRejection());
+        assertInstanceOf(InsufficientBalanceException.class, secondBuy.getRejection());
+        assertInstanceOf(BrokerageException.class, tryBuy.getRejection());
+        assertNull(sell.getRejection());
+        verify(matchingEngine).lockBook("AAPL");
+        verify(orderRepository).saveAll(List.of(firstBuy.getOrder(), sell.getOrder()));
+        verify(matchingEngine, times(2)).submit(any(Order.class));
+    }
+    
+    @Test
+    void createBuyOrder_InsufficientBalance() {
+        when(customerService.getCustomerReference(1L)).thenReturn(testCustomer);
+        when(assetService.blockAsset(1L, "TRY", Money.of("1500"))).thenReturn(false);
+        when(assetService.getUsableSize(1L, "TRY")).thenReturn(Money.of("1000"));
         when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenReturn(testOrder);
         
         assertThrows(InsufficientBalanceException.class, () -> {
-            orderService.createOrder(buyRequest, "test.user");
+            orderService.createOrder(buyRequest, 1L);
         });
         
         verify(orderRepository, never()).save(any(Order.class));
@@ -144,8 +283,8 @@ class OrderServiceTest {
     
     @Test
     void createSellOrder_Success() {
-        when(customerService.getCustomerByUsername("test.user")).thenReturn(testCustomer);
-        when(assetService.getAssetWithLock(testCustomer, "AAPL")).thenReturn(stockAsset);
+        when(customerService.getCustomerReference(1L)).thenReturn(testCustomer);
+        when(assetService.blockAsset(1L, "AAPL", Money.of("10"))).thenReturn(true);
         when(orderMapper.toEntity(any(CreateOrderRequest.class))).thenReturn(testOrder);
         testOrder.setOrderSide(OrderSide.SELL);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
@@ -159,40 +298,176 @@ class OrderServiceTest {
                 .status(OrderStatus.PENDING)
                 .build());
         
-        OrderResponse response = orderService.createOrder(sellRequest, "test.user");
+        OrderResponse response = orderService.createOrder(sellRequest, 1L);
         
         assertNotNull(response);
         assertEquals(OrderSide.SELL, response.getOrderSide());
         
-        verify(assetService).blockAsset(stockAsset, new BigDecimal("10"));
+        verify(assetService).blockAsset(1L, "AAPL", Money.of("10"));
         verify(orderRepository).save(any(Order.class));
     }
     
     @Test
     void cancelOrder_Success() {
-        when(customerService.getCustomerByUsername("test.user")).thenReturn(testCustomer);
-        when(customerService.isAdmin("test.user")).thenReturn(false);
-        when(orderRepository.findByIdAndCustomerId(1L, 1L)).thenReturn(Optional.of(testOrder));
-        when(assetService.getAssetWithLock(testCustomer, "TRY")).thenReturn(tryAsset);
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.findStateByIdAndCustomerId(1L, 1L)).thenReturn(Optional.of(stateOf(testOrder)));
+        when(orderRepository.transitionStatus(1L, 0L, OrderStatus.PENDING, OrderStatus.CANCELED)).thenReturn(1);
         
-        orderService.cancelOrder(1L, "test.user");
+        orderService.cancelOrder(1L, 1L);
         
-        assertEquals(OrderStatus.CANCELED, testOrder.getStatus());
-        verify(assetService).unblockAsset(tryAsset, new BigDecimal("1500"));
-        verify(orderRepository).save(testOrder);
+        verify(matchingEngine).remove("AAPL", 1L);
+        verify(assetService).unblockAsset(1L, "TRY", Money.of("1500"));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+    
+    @Test
+    void cancelOrder_LostRaceReportsCurrentStatus() {
+        Order matchedOrder = Order.builder()
+                .id(1L)
+                .customer(testCustomer)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(Money.of("10"))
+                .price(Money.of("150"))
+                .filledSize(Money.of("10"))
+                .status(OrderStatus.MATCHED)
+                .version(1L)
+                .build();
+        when(orderRepository.findStateById(1L)).thenReturn(Optional.of(stateOf(matchedOrder)));
+        when(orderRepository.transitionStatus(1L, 0L, OrderStatus.PENDING, OrderStatus.CANCELED)).thenReturn(0);
+        
+        OrderStateView pendingSnapshot = stateOf(testOrder);
+        when(orderRepository.findStateByIdAndCustomerId(1L, 1L)).thenReturn(Optional.of(pendingSnapshot));
+        
+        BrokerageException ex = assertThrows(BrokerageException.class, () -> orderService.cancelOrder(1L, 1L));
+        
+        assertEquals("Cannot cancel order with status MATCHED", ex.getMessage());
+        verify(assetService, never()).unblockAsset(any(), any(), anyLong());
+    }
+    
+    @Test
+    void expireOrders_ReleasesPendingAndSkipsFinishedOrders() {
+        Order canceledOrder = Order.builder()
+                .id(2L)
+                .customer(testCustomer)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(Money.of("5"))
+                .price(Money.of("100"))
+                .status(OrderStatus.CANCELED)
+                .version(1L)
+                .build();
+        when(orderRepository.findStatesByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(stateOf(testOrder), stateOf(canceledOrder)));
+        when(orderRepository.transitionStatus(1L, 0L, OrderStatus.PENDING, OrderStatus.EXPIRED)).thenReturn(1);
+        
+        assertEquals(1, orderService.expireOrders(List.of(1L, 2L)));
+        
+        verify(matchingEngine).lockBook("AAPL");
+        verify(matchingEngine).remove("AAPL", 1L);
+        verify(assetService).unblockAsset(1L, "TRY", Money.of("1500"));
+        verify(orderRepository, never()).transitionStatus(eq(2L), anyLong(), any(), any());
+    }
+    
+    @Test
+    void listOrders_ReturnsCursorAfterLastOrderOfPage() {
+        LocalDateTime createDate = LocalDateTime.of(2024, 1, 2, 10, 0);
+        OrderResponse newer = OrderResponse.builder().id(3L).createDate(createDate).build();
+        OrderResponse older = OrderResponse.builder().id(2L).createDate(createDate).build();
+        OrderResponse oldest = OrderResponse.builder().id(1L).createDate(createDate.minusDays(1)).build();
+        when(orderRepository.findResponses(any(), eq(3))).thenReturn(List.of(newer, older, oldest), List.of(oldest));
+        
+        OrderPage page = orderService.listOrders(ListOrdersRequest.builder().size(2).build());
+        
+        assertEquals(2, page.getOrders().size());
+        assertEquals(new OrderCursor(createDate, 2L), OrderCursor.decode(page.getNextCursor()));
+        assertNull(orderService.listOrders(ListOrdersRequest.builder().cursor(page.getNextCursor()).size(2).build())
+                .getNextCursor());
+    }
+    
+    @Test
+    void listOrders_RejectsOversizedPage() {
+        assertThrows(BrokerageException.class,
+                () -> orderService.listOrders(ListOrdersRequest.builder().size(501).build()));
+    }
+    
+    @Test
+    void matchOrders_AggregatesBalanceChangesPerCustomerAndAsset() {
+        Order secondOrder = Order.builder()
+                .id(2L)
+                .customer(testCustomer)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(Money.of("5"))
+                .price(Money.of("100"))
+                .status(OrderStatus.PENDING)
+                .version(0L)
+                .build();
+        Order canceledOrder = Order.builder()
+                .id(3L)
+                .customer(testCustomer)
+                .assetName("AAPL")
+                .orderSide(OrderSide.BUY)
+                .size(Money.of("1"))
+                .price(Money.of("100"))
+                .status(OrderStatus.PENDING)
+                .version(0L)
+                .build();
+        when(orderRepository.findStatesByIdIn(List.of(1L, 2L, 3L, 4L)))
+                .thenReturn(List.of(stateOf(testOrder), stateOf(secondOrder), stateOf(canceledOrder)));
+        when(orderRepository.completeFill(1L, 0L)).thenReturn(1);
+        when(orderRepository.completeFill(2L, 0L)).thenReturn(1);
+        // Canceled after the batch loaded it
+        when(orderRepository.completeFill(3L, 0L)).thenAnswer(invocation -> {
+            canceledOrder.setStatus(OrderStatus.CANCELED);
+            canceledOrder.setVersion(1L);
+            return 0;
+        });
+        when(orderRepository.findStateById(3L)).thenAnswer(invocation -> Optional.of(stateOf(canceledOrder)));
+        
+        BatchMatchResponse response = orderService.matchOrders(BatchMatchOrderRequest.builder()
+                .orderIds(List.of(1L, 2L, 3L, 4L))
+                .build());
+        
+        assertEquals(List.of(1L, 2L), response.getMatchedOrderIds());
+        assertEquals(List.of(3L, 4L), response.getSkippedOrderIds());
+        verify(orderRepository, never()).completeFill(3L, 1L);
+        verify(matchingEngine, never()).remove("AAPL", 3L);
+        verify(orderRepository, never()).saveAll(any());
+        
+        ArgumentCaptor<Collection<BalanceChange>> changes = ArgumentCaptor.forClass(Collection.class);
+        verify(assetService).applyBalanceChanges(changes.capture());
+        assertEquals(2, changes.getValue().size());
+        BalanceChange tryChange = changes.getValue().stream()
+                .filter(change -> change.getAssetName().equals("TRY"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(Money.of("-2000"), tryChange.getSize());
+        assertEquals(Money.ZERO, tryChange.getUsableSize());
     }
     
     @Test
     void matchOrder_BuyOrder_Success() {
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(assetService.getAssetWithLock(testCustomer, "TRY")).thenReturn(tryAsset);
-        when(assetService.findOrCreateAsset(testCustomer, "AAPL")).thenReturn(stockAsset);
+        when(orderRepository.findStateById(1L)).thenReturn(Optional.of(stateOf(testOrder)));
+        when(orderRepository.completeFill(1L, 0L)).thenReturn(1);
+        when(assetService.withdrawFromAsset(1L, "TRY", Money.of("1500"))).thenReturn(true);
         
         orderService.matchOrder(1L);
         
-        assertEquals(OrderStatus.MATCHED, testOrder.getStatus());
-        verify(assetService).withdrawFromAsset(tryAsset, new BigDecimal("1500"));
-        verify(orderRepository).save(testOrder);
+        verify(orderRepository).completeFill(1L, 0L);
+        verify(assetService).depositToAsset(1L, "AAPL", Money.of("10"));
+    }
+    
+    private OrderStateView stateOf(Order order) {
+        return new OrderStateView() {
+            public Long getId() { return order.getId(); }
+            public Long getCustomerId() { return order.getCustomer().getId(); }
+            public String getAssetName() { return order.getAssetName(); }
+            public OrderSide getOrderSide() { return order.getOrderSide(); }
+            public long getSize() { return order.getSize(); }
+            public long getPrice() { return order.getPrice(); }
+            public long getFilledSize() { return order.getFilledSize(); }
+            public OrderStatus getStatus() { return order.getStatus(); }
+            public Long getVersion() { return order.getVersion(); }
+        };
     }
 }
\ No newline at end of file
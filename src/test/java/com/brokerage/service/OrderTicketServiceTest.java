@@ -0,0 +1,174 @@
+package com.brokerage.service;
+
+import com.brokerage.dto.request.CreateOrderRequest;
+import com.brokerage.dto.response.OrderResponse;
+import com.brokerage.dto.response.OrderTicketResponse;
+import com.brokerage.entity.OrderTicket;
+import com.brokerage.enums.OrderSide;
+import com.brokerage.enums.OrderStatus;
+import com.brokerage.enums.TicketStatus;
+import com.brokerage.enums.TimeInForce;
+import com.brokerage.exception.BrokerageException;
+import com.brokerage.exception.InsufficientBalanceException;
+import com.brokerage.exception.ResourceNotFoundException;
+import com.brokerage.idempotency.IdempotencyProperties;
+import com.brokerage.idempotency.IdempotentOrderCache;
+import com.brokerage.repository.OrderRepository;
+import com.brokerage.repository.OrderTicketRepository;
+import com.brokerage.service.impl.OrderRequestValidator;
+import com.brokerage.service.impl.OrderTicketServiceImpl;
+import com.brokerage.ticket.OrderTicketProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = "spring.jpa.show-sql=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderTicketServiceTest {
+    
+    @Autowired
+    private OrderTicketRepository ticketRepository;
+    
+    private OrderServiceInterface orderService;
+    private OrderRepository orderRepository;
+    private OrderTicketServiceImpl orderTicketService;
+    private CreateOrderRequest request;
+    private OrderResponse placed;
+    
+    @BeforeEach
+    void setUp() {
+        orderService = mock(OrderServiceInterface.class);
+        orderRepository = mock(OrderRepository.class);
+        orderTicketService = startService();
+        
+        request = CreateOrderRequest.builder()
+                .assetName("AAPL")
+                .side(OrderSide.BUY)
+                .size(new BigDecimal("10"))
+                .price(new BigDecimal("150"))
+                .build();
+        placed = OrderResponse.builder().id(7L).status(OrderStatus.PENDING).build();
+        when(orderRepository.findResponsesByIdIn(List.of(7L))).thenReturn(List.of(placed));
+    }
+    
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        orderTicketService.stop();
+        ticketRepository.deleteAll();
+    }
+    
+    @Test
+    void submitOrder_StoresTicketBeforeOrderIsPlaced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(orderService.createOrder(eq(request), eq(1L), anyString())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return placed;
+        });
+        
+        OrderTicketResponse accepted = orderTicketService.submitOrder(request, 1L);
+        assertEquals(TicketStatus.ACCEPTED, accepted.getStatus());
+        assertNull(accepted.getOrder());
+        assertEquals(TicketStatus.ACCEPTED, ticketRepository.findById(accepted.getTicketId()).orElseThrow().getStatus());
+        
+        release.countDown();
+        OrderTicketResponse completed = awaitFinished(accepted.getTicketId());
+        assertEquals(TicketStatus.COMPLETED, completed.getStatus());
+        assertEquals(7L, completed.getOrder().getId());
+        assertThrows(ResourceNotFoundException.class,
+                () -> orderTicketService.getTicket(accepted.getTicketId(), 2L));
+    }
+    
+    @Test
+    void submitOrder_RecordsRejection() throws Exception {
+        when(orderService.createOrder(eq(request), eq(1L), anyString()))
+                .thenThrow(new InsufficientBalanceException("Insufficient TRY balance"));
+        
+        OrderTicketResponse accepted = orderTicketService.submitOrder(request, 1L);
+        OrderTicketResponse rejected = awaitFinished(accepted.getTicketId());
+        
+        assertEquals(TicketStatus.REJECTED, rejected.getStatus());
+        assertEquals("Insufficient TRY balance", rejected.getMessage());
+    }
+    
+    @Test
+    void submitOrder_RetriesTemporaryFailuresInsteadOfRejecting() throws Exception {
+        // The retry places the request stored with the ticket
+        when(orderService.createOrder(any(), eq(1L), anyString()))
+                .thenThrow(new BrokerageException("Order service is overloaded, please retry later",
+                        HttpStatus.SERVICE_UNAVAILABLE))
+                .thenReturn(placed);
+        
+        OrderTicketResponse accepted = orderTicketService.submitOrder(request, 1L);
+        OrderTicketResponse completed = awaitFinished(accepted.getTicketId());
+        
+        assertEquals(TicketStatus.COMPLETED, completed.getStatus());
+        assertEquals(1, ticketRepository.findById(accepted.getTicketId()).orElseThrow().getAttempts());
+        verify(orderService, times(2)).createOrder(any(), eq(1L), anyString());
+    }
+    
+    @Test
+    void submitOrder_RejectsInvalidOrderWithoutAcceptingIt() {
+        request.setTimeInForce(TimeInForce.GTD);
+        
+        BrokerageException ex = assertThrows(BrokerageException.class,
+                () -> orderTicketService.submitOrder(request, 1L));
+        
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+        assertEquals(0, ticketRepository.count());
+        verifyNoInteractions(orderService);
+    }
+    
+    @Test
+    void start_PlacesTicketsAcceptedBeforeARestart() throws Exception {
+        orderTicketService.stop();
+        OrderTicket stranded = ticketRepository.save(OrderTicket.accepted(UUID.randomUUID().toString(), 1L, request));
+        when(orderService.createOrder(any(), eq(1L), eq("ticket:" + stranded.getId()))).thenReturn(placed);
+        
+        orderTicketService = startService();
+        OrderTicketResponse completed = awaitFinished(stranded.getId());
+        
+        assertEquals(TicketStatus.COMPLETED, completed.getStatus());
+        assertEquals(7L, completed.getOrder().getId());
+        verify(orderService, times(1)).createOrder(any(), eq(1L), anyString());
+    }
+    
+    private OrderTicketServiceImpl startService() {
+        OrderTicketProperties properties = new OrderTicketProperties();
+        properties.setWorkers(2);
+        properties.setRetryIntervalMs(50);
+        IdempotentOrderCache idempotentOrders = new IdempotentOrderCache(orderRepository,
+                new IdempotencyProperties(), new SimpleMeterRegistry());
+        OrderTicketServiceImpl service = new OrderTicketServiceImpl(orderService, new OrderRequestValidator(),
+                idempotentOrders, ticketRepository, orderRepository, properties, new SimpleMeterRegistry());
+        service.start();
+        return service;
+    }
+    
+    private OrderTicketResponse awaitFinished(String ticketId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        OrderTicketResponse ticket = orderTicketService.getTicket(ticketId, 1L);
+        while (ticket.getStatus() == TicketStatus.ACCEPTED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            ticket = orderTicketService.getTicket(ticketId, 1L);
+        }
+        return ticket;
+    }
+}